@@ -1,5 +1,6 @@
 package app.maze.components.algorithm;
 
+import java.beans.ExceptionListener;
 import java.io.Serializable;
 
 import javax.xml.crypto.AlgorithmMethod;
@@ -40,6 +41,12 @@ public abstract class AlgorithmManager implements AlgorithmMethod, Runnable, Ser
      */
     protected volatile int delay = 100;
 
+    /**
+     * Optional <code>java.beans.ExceptionListener</code> reference, notified of
+     * exceptions caught while running instead of dispatching them.
+     */
+    private transient ExceptionListener exceptionListener = null;
+
     /**
      * Awake algorithm.
      */
@@ -142,6 +149,37 @@ public abstract class AlgorithmManager implements AlgorithmMethod, Runnable, Ser
         this.delay = delay;
     }
 
+    /**
+     * Return current <code>java.beans.ExceptionListener</code> reference.
+     *
+     * @return ExceptionListener
+     */
+    public final ExceptionListener getExceptionListener() {
+        return this.exceptionListener;
+    }
+
+    /**
+     * Set current <code>java.beans.ExceptionListener</code> reference, or null
+     * to dispatch caught exceptions.
+     *
+     * @param exceptionListener ExceptionListener
+     */
+    public final void setExceptionListener(final ExceptionListener exceptionListener) {
+        this.exceptionListener = exceptionListener;
+    }
+
+    /**
+     * Notify caught exception to listener if any, or dispatch it otherwise.
+     *
+     * @param e Exception
+     */
+    protected final void dispatchException(final Exception e) {
+        if (this.exceptionListener != null)
+            this.exceptionListener.exceptionThrown(e);
+        else
+            JWrapper.dispatchException(e);
+    }
+
     @Override
     public final String getAlgorithm() {
         return this.getClass().getSimpleName();
@@ -4,8 +4,6 @@ import java.io.Serializable;
 import java.util.EventListener;
 import java.util.EventObject;
 
-import javax.swing.tree.TreeNode;
-
 public abstract interface TraverserListener extends EventListener, Serializable {
 
     public abstract void nodeGerminated(final TraverserEvent e);
@@ -20,29 +18,29 @@ public abstract interface TraverserListener extends EventListener, Serializable
 
         private static final long serialVersionUID = 1L;
 
-        private final TreeNode node;
+        private final int node;
 
-        private final TreeNode[] gen;
+        private final int[] gen;
 
-        public TraverserEvent(final Object source, final TreeNode[] gen, final TreeNode node) {
+        public TraverserEvent(final Object source, final int[] gen, final int node) {
             super(source);
             this.gen = gen;
             this.node = node;
         }
 
-        public TraverserEvent(final Object source, final TreeNode[] gen) {
-            this(source, gen, null);
+        public TraverserEvent(final Object source, final int[] gen) {
+            this(source, gen, -1);
         }
 
-        public TraverserEvent(final Object source, final TreeNode node) {
+        public TraverserEvent(final Object source, final int node) {
             this(source, null, node);
         }
 
-        public final TreeNode[] getGeneration() {
+        public final int[] getGeneration() {
             return gen;
         }
 
-        public final TreeNode getNode() {
+        public final int getNode() {
             return node;
         }
 
@@ -1,39 +1,77 @@
 package app.maze.components.algorithm.generator;
 
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Objects;
-import java.util.Set;
+import java.util.SplittableRandom;
 import java.util.function.BiConsumer;
 
 import javax.swing.event.EventListenerList;
-import javax.swing.tree.TreeNode;
 
 import app.maze.components.algorithm.AlgorithmManager;
 import app.maze.components.algorithm.Listenable;
 import app.maze.components.algorithm.TraverserListener;
 import app.maze.components.algorithm.TraverserListener.TraverserEvent;
-import app.maze.components.cell.Walkable;
+import app.maze.components.grid.GridGraph;
 import utils.JWrapper;
 
 public abstract class Generator extends AlgorithmManager implements Listenable {
 
     private static final long serialVersionUID = 1L;
 
-    protected Set<Walkable> visited;
+    protected BitSet visited;
 
     protected final EventListenerList listeners = new EventListenerList();
 
-    protected Walkable root = null;
+    protected GridGraph graph = null;
+
+    protected int root = -1;
 
     protected int density = 50;
 
-    protected abstract void advance(final Walkable node) throws InterruptedException;
+    /**
+     * Lattice direction row offsets.
+     */
+    protected static final int[] DR = { -1, 0, 1, 0 };
+
+    /**
+     * Lattice direction column offsets.
+     */
+    protected static final int[] DC = { 0, 1, 0, -1 };
+
+    /**
+     * Run random source, seeded on every run.
+     */
+    protected transient SplittableRandom random;
+
+    /**
+     * Run seed, so equal seeds generate equal mazes.
+     */
+    protected long seed = new SplittableRandom().nextLong();
+
+    /**
+     * Relief lattice spacing.
+     */
+    private static final int RELIEF = 8;
+
+    /**
+     * Walkable probability precision in bits.
+     */
+    private static final int PRECISION = 16;
 
-    public final void generate(final Walkable start) {
+    /**
+     * Highest generated traversal cost, flat if 1.
+     */
+    protected int terrain = 1;
+
+    protected abstract void advance(final int node) throws InterruptedException;
+
+    public final void generate(final GridGraph graph, final int start) {
         try {
-            if (start == null)
+            if (start == -1)
                 throw new NullPointerException("No starting node found...");
             // Set start
+            setGraph(graph);
             setRoot(start);
             // Run Thread
             start();
@@ -45,19 +83,152 @@ public abstract class Generator extends AlgorithmManager implements Listenable {
     @Override
     protected final void awake() {
         try {
-            if (root == null)
+            if (graph == null || root == -1)
                 throw new NullPointerException("Generator is not initialized...");
-            visited = new HashSet<Walkable>(0);
+            visited = new BitSet(graph.size());
+            visited.set(root);
+            random = new SplittableRandom(seed);
             setRunning(true);
             advance(root);
-            fireNodeReached(new TraverserEvent(this, (TreeNode) null));
+            if (terrain > 1)
+                relief();
+            fireNodeReached(new TraverserEvent(this, -1));
         } catch (final NullPointerException | InterruptedException e) {
-            JWrapper.dispatchException(e);
+            dispatchException(e);
         } finally {
             setRunning(false);
         }
     }
 
+    /**
+     * Set smooth random traversal costs up to terrain, interpolated between a
+     * coarse lattice of random heights.
+     */
+    protected final void relief() {
+        final int rows = graph.getRows() / RELIEF + 2;
+        final int columns = graph.getColumns() / RELIEF + 2;
+        final int[] lattice = new int[rows * columns];
+        for (int i = 0; i < lattice.length; i++)
+            lattice[i] = 1 + random.nextInt(terrain);
+        for (int i = 0; i < graph.size(); i++) {
+            final int r = graph.row(i) / RELIEF;
+            final int c = graph.column(i) / RELIEF;
+            final double y = (double) (graph.row(i) % RELIEF) / RELIEF;
+            final double x = (double) (graph.column(i) % RELIEF) / RELIEF;
+            // Bilinear interpolation of surrounding lattice heights
+            final double top = lattice[r * columns + c] * (1 - x) + lattice[r * columns + c + 1] * x;
+            final double bottom = lattice[(r + 1) * columns + c] * (1 - x) + lattice[(r + 1) * columns + c + 1] * x;
+            graph.setCost(i, (int) Math.round(top * (1 - y) + bottom * y));
+        }
+    }
+
+    /**
+     * Return random walkability words, each bit set with probability of one minus
+     * density. Words are built 64 cells at a time by folding random words over
+     * the binary expansion of the probability, least significant bit first, so
+     * every fold halves the distance to it.
+     *
+     * @return long[]
+     */
+    protected final long[] scatter() {
+        final long[] words = new long[(graph.size() + 63) >>> 6];
+        final int p = (int) Math.round((1 - (double) density / 100) * (1 << PRECISION));
+        if (p == 0)
+            return words;
+        if (p >= 1 << PRECISION) {
+            Arrays.fill(words, -1L);
+            return words;
+        }
+        final int low = Integer.numberOfTrailingZeros(p);
+        for (int w = 0; w < words.length; w++) {
+            long word = 0;
+            // Or random bits for set probability bits, and them for clear ones
+            for (int b = low; b < PRECISION; b++)
+                word = (p >>> b & 1) != 0 ? word | random.nextLong() : word & random.nextLong();
+            words[w] = word;
+        }
+        return words;
+    }
+
+    /**
+     * Return whether any listener is attached, so events are only allocated if
+     * someone receives them.
+     *
+     * @return boolean
+     */
+    protected final boolean isListened() {
+        return listeners.getListenerCount() != 0;
+    }
+
+    /**
+     * Pace one generation step, waiting, interrupting or delaying if needed.
+     *
+     * @throws InterruptedException if (!running)
+     */
+    protected final void pace() throws InterruptedException {
+        // Check for waiting state
+        assertWaiting();
+        // Check for running state
+        if (!running)
+            throw new InterruptedException("Invokation interrupted...");
+        // Delay iteration
+        if (delay != 0)
+            Thread.sleep(delay);
+    }
+
+    /**
+     * Return lattice room of cell, rooms lying on even rows and columns.
+     *
+     * @param node int
+     * @return int
+     */
+    protected final int room(final int node) {
+        return graph.index(graph.row(node) & ~1, graph.column(node) & ~1);
+    }
+
+    /**
+     * Return neighbouring lattice room in direction, or -1 if none.
+     *
+     * @param room int
+     * @param d    int
+     * @return int
+     */
+    protected final int next(final int room, final int d) {
+        final int next = graph.index(graph.row(room) + 2 * DR[d], graph.column(room) + 2 * DC[d]);
+        // Wrapping around odd dimensions lands off lattice
+        return next == -1 || (graph.row(next) & 1) != 0 || (graph.column(next) & 1) != 0 ? -1 : next;
+    }
+
+    /**
+     * Return wall cell between lattice room and its neighbour in direction.
+     *
+     * @param room int
+     * @param d    int
+     * @return int
+     */
+    protected final int wall(final int room, final int d) {
+        return graph.index(graph.row(room) + DR[d], graph.column(room) + DC[d]);
+    }
+
+    /**
+     * Carve wall and neighbouring lattice room in direction, firing traversed
+     * events if listened.
+     *
+     * @param room int
+     * @param d    int
+     */
+    protected final void carve(final int room, final int d) {
+        final int wall = wall(room, d);
+        final int next = next(room, d);
+        graph.setWalkable(wall, true);
+        graph.setWalkable(next, true);
+        if (!isListened())
+            return;
+        // Fire traversed TraverserEvent
+        fireNodeTraversed(new TraverserEvent(this, wall));
+        fireNodeTraversed(new TraverserEvent(this, next));
+    }
+
     @Override
     public final void addListener(final TraverserListener l) {
         listeners.add(TraverserListener.class, l);
@@ -78,12 +249,22 @@ public abstract class Generator extends AlgorithmManager implements Listenable {
                 fire.accept((TraverserListener) listeners[i + 1], e);
     }
 
-    public final Walkable getRoot() {
+    public final GridGraph getGraph() {
+        return graph;
+    }
+
+    public final void setGraph(final GridGraph graph) {
+        this.graph = Objects.requireNonNull(graph, "GridGraph must not be null...");
+    }
+
+    public final int getRoot() {
         return root;
     }
 
-    public final void setRoot(final Walkable root) {
-        this.root = Objects.requireNonNull(root, "Walkable must not be null...");
+    public final void setRoot(final int root) {
+        if (root == -1)
+            throw new NullPointerException("Root must not be null...");
+        this.root = root;
     }
 
     public final int getDensity() {
@@ -94,11 +275,28 @@ public abstract class Generator extends AlgorithmManager implements Listenable {
         this.density = density;
     }
 
+    public final long getSeed() {
+        return seed;
+    }
+
+    public final void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+    public final int getTerrain() {
+        return terrain;
+    }
+
+    public final void setTerrain(final int terrain) {
+        this.terrain = terrain;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + density;
+        result = prime * result + terrain;
         return result;
     }
 
@@ -113,6 +311,8 @@ public abstract class Generator extends AlgorithmManager implements Listenable {
         final Generator other = (Generator) obj;
         if (density != other.density)
             return false;
+        if (terrain != other.terrain)
+            return false;
         return true;
     }
 
@@ -2,16 +2,54 @@ package app.maze.components.algorithm.generator.traversers;
 
 import java.security.spec.AlgorithmParameterSpec;
 
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.generator.Generator;
-import app.maze.components.cell.Walkable;
 
+/**
+ * Recursive backtracker perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. The walk
+ * carves into a random unvisited lattice room while it can and backs up
+ * otherwise, on an explicit cell index stack, so long winding corridors fit
+ * any grid size without recursion.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
 public class BackTracker extends Generator {
 
     private static final long serialVersionUID = 1L;
 
     @Override
-    public void advance(final Walkable node) throws InterruptedException {
-
+    public void advance(final int node) throws InterruptedException {
+        graph.fill(false);
+        final int start = room(node);
+        final int[] stack = new int[graph.size() / 4 + graph.getRows() + graph.getColumns() + 1];
+        final int[] free = new int[DR.length];
+        int top = 0;
+        graph.setWalkable(start, true);
+        visited.set(start);
+        stack[top++] = start;
+        while (top != 0) {
+            pace();
+            final int room = stack[top - 1];
+            // Gather unvisited neighbouring rooms
+            int n = 0;
+            for (int d = 0; d < DR.length; d++) {
+                final int next = next(room, d);
+                if (next != -1 && !visited.get(next))
+                    free[n++] = d;
+            }
+            // Back up if dead end
+            if (n == 0) {
+                top--;
+                // Fire germinated TraverserEvent
+                if (isListened())
+                    fireNodeGerminated(new TraverserEvent(this, room));
+                continue;
+            }
+            final int d = free[random.nextInt(n)];
+            carve(room, d);
+            visited.set(stack[top++] = next(room, d));
+        }
     }
 
     @Override
@@ -0,0 +1,274 @@
+package app.maze.components.algorithm.generator.traversers;
+
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.generator.Generator;
+
+/**
+ * Cellular automaton cave generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. Walls are
+ * scattered by density, then smoothed over a few rounds of a birth and
+ * survival rule on their Moore neighbourhood. Walls live on two row aligned
+ * bit planes swapped every round, and each word counts all 64 neighbourhoods
+ * at once through bit sliced adders, with rows split across a fork join pool.
+ * Borders wrap around periodic grids and count as walls otherwise.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
+public class Cave extends Generator {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default round count.
+     */
+    public static final int ROUNDS = 5;
+
+    /**
+     * Default wall neighbour counts opening cells become walls at, as a bitmask.
+     */
+    public static final int BIRTH = 0b111100000;
+
+    /**
+     * Default wall neighbour counts walls stay at, as a bitmask.
+     */
+    public static final int SURVIVAL = 0b111110000;
+
+    /**
+     * Minimum words per fork join task.
+     */
+    private static final int GRAIN = 1 << 12;
+
+    private int rounds = ROUNDS;
+
+    private int birth = BIRTH;
+
+    private int survival = SURVIVAL;
+
+    @Override
+    protected void advance(final int node) throws InterruptedException {
+        final int rows = graph.getRows();
+        final int columns = graph.getColumns();
+        final int width = (columns + 63) >>> 6;
+        long[] plane = new long[rows * width];
+        long[] next = new long[rows * width];
+        // Seed walls as unwalkable scattered cells
+        unpack(scatter(), plane, width);
+        for (int k = 0; k < rounds; k++) {
+            pace();
+            ForkJoinPool.commonPool().invoke(new Round(plane, next, width, 0, rows));
+            final long[] swap = plane;
+            plane = next;
+            next = swap;
+            // Show intermediate round if animated
+            if (delay != 0 && isListened()) {
+                graph.fill(pack(plane, width));
+                fireNodeReached(new TraverserEvent(this, -1));
+            }
+        }
+        final long[] walkable = pack(plane, width);
+        // Keep root walkable
+        walkable[node >>> 6] |= 1L << node;
+        graph.fill(walkable);
+    }
+
+    /**
+     * Copy complement of graph packed walkability words into row aligned wall
+     * plane, trailing row bits left undefined.
+     *
+     * @param words long[]
+     * @param plane long[]
+     * @param width int
+     */
+    private final void unpack(final long[] words, final long[] plane, final int width) {
+        final int columns = graph.getColumns();
+        for (int r = 0; r < graph.getRows(); r++)
+            for (int w = 0; w < width; w++) {
+                final int p = r * columns + (w << 6);
+                final int i = p >>> 6;
+                final int o = p & 63;
+                long x = words[i] >>> o;
+                if (o != 0 && i + 1 < words.length)
+                    x |= words[i + 1] << (64 - o);
+                plane[r * width + w] = ~x;
+            }
+    }
+
+    /**
+     * Return graph packed walkability words as complement of row aligned wall
+     * plane.
+     *
+     * @param plane long[]
+     * @param width int
+     * @return long[]
+     */
+    private final long[] pack(final long[] plane, final int width) {
+        final int columns = graph.getColumns();
+        final long[] words = new long[(graph.size() + 63) >>> 6];
+        for (int r = 0; r < graph.getRows(); r++)
+            for (int w = 0; w < width; w++) {
+                final int n = Math.min(64, columns - (w << 6));
+                final long x = ~plane[r * width + w] & (n == 64 ? -1L : (1L << n) - 1);
+                final int p = r * columns + (w << 6);
+                final int i = p >>> 6;
+                final int o = p & 63;
+                words[i] |= x << o;
+                if (o != 0 && o + n > 64)
+                    words[i + 1] |= x >>> (64 - o);
+            }
+        return words;
+    }
+
+    public final int getRounds() {
+        return rounds;
+    }
+
+    public final void setRounds(final int rounds) {
+        this.rounds = rounds;
+    }
+
+    public final int getBirth() {
+        return birth;
+    }
+
+    public final void setBirth(final int birth) {
+        this.birth = birth;
+    }
+
+    public final int getSurvival() {
+        return survival;
+    }
+
+    public final void setSurvival(final int survival) {
+        this.survival = survival;
+    }
+
+    @Override
+    public AlgorithmParameterSpec getParameterSpec() {
+        return null;
+    }
+
+    /**
+     * Fork join automaton round over a row range, reading one plane and writing
+     * only its own rows of the other.
+     */
+    private final class Round extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] plane;
+
+        private final long[] next;
+
+        private final int width;
+
+        private final int from;
+
+        private final int to;
+
+        private Round(final long[] plane, final long[] next, final int width, final int from, final int to) {
+            this.plane = plane;
+            this.next = next;
+            this.width = width;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected final void compute() {
+            if ((to - from) * width > GRAIN && to - from > 1) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new Round(plane, next, width, from, mid), new Round(plane, next, width, mid, to));
+                return;
+            }
+            final int rows = graph.getRows();
+            final boolean periodic = graph.isPeriodic();
+            for (int r = from; r < to; r++) {
+                // Row offsets, -1 past non periodic borders
+                final int north = r > 0 ? (r - 1) * width : periodic ? (rows - 1) * width : -1;
+                final int south = r < rows - 1 ? (r + 1) * width : periodic ? 0 : -1;
+                final int base = r * width;
+                for (int w = 0; w < width; w++) {
+                    final long c = plane[base + w];
+                    final long nw = west(north, w), n = word(north, w), ne = east(north, w);
+                    final long we = west(base, w), ea = east(base, w);
+                    final long sw = west(south, w), so = word(south, w), se = east(south, w);
+                    // Bit sliced carry save count of wall neighbours, ones first
+                    final long a0 = nw ^ n ^ ne, a1 = nw & n | ne & (nw ^ n);
+                    final long b0 = we ^ ea ^ sw, b1 = we & ea | sw & (we ^ ea);
+                    final long c0 = so ^ se, c1 = so & se;
+                    final long s0 = a0 ^ b0 ^ c0, d1 = a0 & b0 | c0 & (a0 ^ b0);
+                    // Twos, carrying into fours
+                    final long t = a1 ^ b1 ^ c1, u = a1 & b1 | c1 & (a1 ^ b1);
+                    final long s1 = t ^ d1, v = t & d1;
+                    // Fours, carrying into eights
+                    final long s2 = u ^ v, s3 = u & v;
+                    long result = 0;
+                    for (int k = 0; k <= 8; k++) {
+                        final long grow = (birth >>> k & 1) != 0 ? ~c : 0;
+                        final long keep = (survival >>> k & 1) != 0 ? c : 0;
+                        if ((grow | keep) == 0)
+                            continue;
+                        final long count = ((k & 1) != 0 ? s0 : ~s0) & ((k & 2) != 0 ? s1 : ~s1)
+                                & ((k & 4) != 0 ? s2 : ~s2) & ((k & 8) != 0 ? s3 : ~s3);
+                        result |= count & (grow | keep);
+                    }
+                    next[base + w] = result;
+                }
+            }
+        }
+
+        /**
+         * Return walls of row word, all walls past borders.
+         *
+         * @param base int
+         * @param w    int
+         * @return long
+         */
+        private final long word(final int base, final int w) {
+            return base == -1 ? -1L : plane[base + w];
+        }
+
+        /**
+         * Return walls east of row word cells.
+         *
+         * @param base int
+         * @param w    int
+         * @return long
+         */
+        private final long east(final int base, final int w) {
+            if (base == -1)
+                return -1L;
+            final long x = plane[base + w] >>> 1;
+            if (w + 1 < width)
+                return x | plane[base + w + 1] << 63;
+            // Last column looks past border or wraps to first
+            final int last = (graph.getColumns() - 1) & 63;
+            final long edge = graph.isPeriodic() ? plane[base] & 1L : 1L;
+            return x & ~(1L << last) | edge << last;
+        }
+
+        /**
+         * Return walls west of row word cells.
+         *
+         * @param base int
+         * @param w    int
+         * @return long
+         */
+        private final long west(final int base, final int w) {
+            if (base == -1)
+                return -1L;
+            final long x = plane[base + w] << 1;
+            if (w > 0)
+                return x | plane[base + w - 1] >>> 63;
+            // First column looks past border or wraps to last
+            final int last = (graph.getColumns() - 1) & 63;
+            return x | (graph.isPeriodic() ? plane[base + width - 1] >>> last & 1L : 1L);
+        }
+
+    }
+
+}
@@ -1,17 +1,80 @@
 package app.maze.components.algorithm.generator.traversers;
 
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
 
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.generator.Generator;
-import app.maze.components.cell.Walkable;
 
+/**
+ * Randomized depth first search perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. Every room
+ * pushes its neighbouring lattice rooms in shuffled order onto an explicit
+ * stack, each packed with the direction it was reached from, and the first
+ * unvisited one popped is carved into. Unlike the backtracker, rooms are
+ * expanded once and never revisited, at the cost of a wider stack.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
 public class DFS extends Generator {
 
     private static final long serialVersionUID = 1L;
 
     @Override
-    protected void advance(final Walkable node) throws InterruptedException {
+    protected void advance(final int node) throws InterruptedException {
+        graph.fill(false);
+        final int start = room(node);
+        final int[] order = { 0, 1, 2, 3 };
+        int[] stack = new int[graph.size() / 4 + graph.getRows() + graph.getColumns() + DR.length];
+        int top = 0;
+        graph.setWalkable(start, true);
+        visited.set(start);
+        top = expand(start, stack, top, order);
+        while (top != 0) {
+            pace();
+            // Unpack room and direction back to its parent
+            final int entry = stack[--top];
+            final int room = entry >>> 2;
+            final int back = entry & 3;
+            // Ignore if room visited
+            if (visited.get(room))
+                continue;
+            visited.set(room);
+            carve(next(room, back), back ^ 2);
+            // Grow stack if full
+            if (top + DR.length > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            top = expand(room, stack, top, order);
+            // Fire germinated TraverserEvent
+            if (isListened())
+                fireNodeGerminated(new TraverserEvent(this, room));
+        }
+    }
 
+    /**
+     * Push unvisited neighbouring rooms in shuffled order and return new stack
+     * top.
+     *
+     * @param room  int
+     * @param stack int[]
+     * @param top   int
+     * @param order int[]
+     * @return int
+     */
+    private final int expand(final int room, final int[] stack, int top, final int[] order) {
+        // Fisher-Yates shuffle of directions
+        for (int i = order.length - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int d = order[i];
+            order[i] = order[j];
+            order[j] = d;
+        }
+        for (final int d : order) {
+            final int next = next(room, d);
+            if (next != -1 && !visited.get(next))
+                stack[top++] = next << 2 | d ^ 2;
+        }
+        return top;
     }
 
     @Override
@@ -0,0 +1,183 @@
+package app.maze.components.algorithm.generator.traversers;
+
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import app.maze.components.algorithm.generator.Generator;
+
+/**
+ * Fork join recursive division perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. An open
+ * lattice chamber is split by a wall with a single gap across its longer side,
+ * and both halves are divided the same way as independent fork join tasks,
+ * each with a random stream split off its parent, so equal seeds divide alike
+ * whatever the scheduling. Chambers only clear passages of their own rooms,
+ * which are laid onto the grid graph in a single pass once every task is done.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
+public class Division extends Generator {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Room open to its eastern neighbour.
+     */
+    private static final byte EAST = 1;
+
+    /**
+     * Room open to its southern neighbour.
+     */
+    private static final byte SOUTH = 2;
+
+    /**
+     * Largest chamber divided without forking, in rooms.
+     */
+    private static final int GRAIN = 1 << 12;
+
+    @Override
+    protected void advance(final int node) throws InterruptedException {
+        final int width = (graph.getColumns() + 1) / 2;
+        final int height = (graph.getRows() + 1) / 2;
+        // Open passages of each room, starting from a single open chamber
+        final byte[] passages = new byte[width * height];
+        Arrays.fill(passages, (byte) (EAST | SOUTH));
+        for (int y = 0; y < height; y++)
+            passages[y * width + width - 1] &= ~EAST;
+        for (int x = 0; x < width; x++)
+            passages[(height - 1) * width + x] &= ~SOUTH;
+        ForkJoinPool.commonPool().invoke(new Chamber(passages, width, random.split(), 0, 0, width, height));
+        pace();
+        final int columns = graph.getColumns();
+        final long[] words = new long[(graph.size() + 63) >>> 6];
+        // Lay rooms and open passages
+        for (int y = 0; y < height; y++)
+            for (int x = 0; x < width; x++) {
+                final int room = 2 * y * columns + 2 * x;
+                final byte open = passages[y * width + x];
+                words[room >>> 6] |= 1L << room;
+                if ((open & EAST) != 0)
+                    words[room + 1 >>> 6] |= 1L << room + 1;
+                if ((open & SOUTH) != 0)
+                    words[room + columns >>> 6] |= 1L << room + columns;
+            }
+        // IMPORTANT: Check for running state past pacing delay, never filling partial mazes
+        if (!running)
+            throw new InterruptedException("Invokation interrupted...");
+        graph.fill(words);
+    }
+
+    @Override
+    public AlgorithmParameterSpec getParameterSpec() {
+        return null;
+    }
+
+    /**
+     * Fork join division of a lattice chamber, clearing passages of its own rooms
+     * only.
+     */
+    private final class Chamber extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] passages;
+
+        private final int width;
+
+        private final SplittableRandom random;
+
+        private final int x0;
+
+        private final int y0;
+
+        private final int x1;
+
+        private final int y1;
+
+        private Chamber(final byte[] passages, final int width, final SplittableRandom random, final int x0,
+                final int y0, final int x1, final int y1) {
+            this.passages = passages;
+            this.width = width;
+            this.random = random;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = x1;
+            this.y1 = y1;
+        }
+
+        @Override
+        protected final void compute() {
+            divide(random, x0, y0, x1, y1);
+        }
+
+        /**
+         * Divide chamber, forking halves while large enough.
+         *
+         * @param random SplittableRandom
+         * @param x0     int
+         * @param y0     int
+         * @param x1     int
+         * @param y1     int
+         */
+        private final void divide(final SplittableRandom random, final int x0, final int y0, final int x1,
+                final int y1) {
+            final int w = x1 - x0;
+            final int h = y1 - y0;
+            // Check for running state
+            if (w < 2 && h < 2 || !running)
+                return;
+            // Cut across longer side, at random on ties
+            final boolean vertical = w > h || w == h && random.nextBoolean();
+            final SplittableRandom other = random.split();
+            if (vertical) {
+                // Wall east of column cut with a single gap
+                final int cut = x0 + random.nextInt(w - 1);
+                final int gap = y0 + random.nextInt(h);
+                for (int y = y0; y < y1; y++)
+                    if (y != gap)
+                        passages[y * width + cut] &= ~EAST;
+                split(w * h > GRAIN, random, other, x0, y0, cut + 1, y1, cut + 1, y0, x1, y1);
+            } else {
+                // Wall south of row cut with a single gap
+                final int cut = y0 + random.nextInt(h - 1);
+                final int gap = x0 + random.nextInt(w);
+                for (int x = x0; x < x1; x++)
+                    if (x != gap)
+                        passages[cut * width + x] &= ~SOUTH;
+                split(w * h > GRAIN, random, other, x0, y0, x1, cut + 1, x0, cut + 1, x1, y1);
+            }
+        }
+
+        /**
+         * Divide both halves, as fork join tasks if forking.
+         *
+         * @param fork boolean
+         * @param a    SplittableRandom
+         * @param b    SplittableRandom
+         * @param ax0  int
+         * @param ay0  int
+         * @param ax1  int
+         * @param ay1  int
+         * @param bx0  int
+         * @param by0  int
+         * @param bx1  int
+         * @param by1  int
+         */
+        private final void split(final boolean fork, final SplittableRandom a, final SplittableRandom b,
+                final int ax0, final int ay0, final int ax1, final int ay1, final int bx0, final int by0,
+                final int bx1, final int by1) {
+            if (!fork) {
+                divide(a, ax0, ay0, ax1, ay1);
+                divide(b, bx0, by0, bx1, by1);
+                return;
+            }
+            invokeAll(new Chamber(passages, width, a, ax0, ay0, ax1, ay1),
+                    new Chamber(passages, width, b, bx0, by0, bx1, by1));
+        }
+
+    }
+
+}
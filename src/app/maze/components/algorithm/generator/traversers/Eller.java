@@ -0,0 +1,205 @@
+package app.maze.components.algorithm.generator.traversers;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidParameterException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.generator.Generator;
+import app.maze.components.grid.UnionFind;
+
+/**
+ * Eller perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. Lattice rooms
+ * are joined one row at a time, tracking only which set each room of the
+ * current row belongs to, so memory stays linear in width and rows can be
+ * streamed to a sink, such as a PBM file, without ever holding the maze.
+ * Run with columns, rows, file and optional seed arguments to stream a maze of
+ * any height to disk.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
+public class Eller extends Generator {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void advance(final int node) throws InterruptedException {
+        graph.fill(false);
+        final int columns = graph.getColumns();
+        final int[] r = { 0 };
+        try {
+            stream(columns, graph.getRows(), random, row -> {
+                pace();
+                final int offset = r[0]++ * columns;
+                // Range through open cells of row
+                for (int w = 0; w < row.length; w++)
+                    for (long word = row[w]; word != 0; word &= word - 1) {
+                        final int cell = offset + (w << 6) + Long.numberOfTrailingZeros(word);
+                        graph.setWalkable(cell, true);
+                        // Fire traversed TraverserEvent
+                        if (isListened())
+                            fireNodeTraversed(new TraverserEvent(this, cell));
+                    }
+            });
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Stream perfect maze of given dimensions one row at a time, top to bottom,
+     * as walkability words reused across rows.
+     *
+     * @param columns int
+     * @param rows    long
+     * @param random  SplittableRandom
+     * @param sink    Sink
+     * @throws IOException          if sink failed
+     * @throws InterruptedException if sink interrupted
+     */
+    public static final void stream(final int columns, final long rows, final SplittableRandom random,
+            final Sink sink) throws IOException, InterruptedException {
+        if (columns < 1 || rows < 1)
+            throw new InvalidParameterException("Dimensions must be positive...");
+        final int width = (columns + 1) / 2;
+        final long height = (rows + 1) / 2;
+        // Compact set label of each room, -1 if none
+        final int[] set = new int[width];
+        // Next row label of each set, -1 if none
+        final int[] label = new int[width];
+        // Members seen and member forced down of each set
+        final int[] count = new int[width];
+        final int[] pick = new int[width];
+        final boolean[] down = new boolean[width];
+        final boolean[] carried = new boolean[width];
+        final UnionFind sets = new UnionFind(width);
+        final long[] row = new long[(columns + 63) >>> 6];
+        Arrays.fill(set, -1);
+        int labels = 0;
+        for (long r = 0; r < height; r++) {
+            final boolean last = r == height - 1;
+            // Give fresh sets to rooms not carried down
+            for (int i = 0; i < width; i++)
+                if (set[i] == -1)
+                    set[i] = labels++;
+            sets.clear();
+            Arrays.fill(row, 0L);
+            for (int i = 0; i < width; i++)
+                open(row, 2 * i);
+            // Join neighbouring rooms of disjoint sets at random, or all on last row
+            for (int i = 0; i < width - 1; i++)
+                if ((last || random.nextBoolean()) && sets.union(set[i], set[i + 1]))
+                    open(row, 2 * i + 1);
+            sink.accept(row);
+            if (last)
+                break;
+            Arrays.fill(count, 0);
+            Arrays.fill(label, -1);
+            Arrays.fill(carried, false);
+            // Carry rooms down at random, sampling one member per set
+            for (int i = 0; i < width; i++) {
+                final int s = set[i] = sets.find(set[i]);
+                down[i] = random.nextBoolean();
+                carried[s] |= down[i];
+                if (random.nextInt(++count[s]) == 0)
+                    pick[s] = i;
+            }
+            Arrays.fill(row, 0L);
+            labels = 0;
+            for (int i = 0; i < width; i++) {
+                final int s = set[i];
+                // IMPORTANT: Every set must reach next row, or its rooms would be cut off
+                if (!down[i] && (carried[s] || pick[s] != i)) {
+                    set[i] = -1;
+                    continue;
+                }
+                open(row, 2 * i);
+                if (label[s] == -1)
+                    label[s] = labels++;
+                set[i] = label[s];
+            }
+            sink.accept(row);
+        }
+        // Close trailing wall row of even heights
+        if (rows % 2 == 0) {
+            Arrays.fill(row, 0L);
+            sink.accept(row);
+        }
+    }
+
+    /**
+     * Stream perfect maze of given dimensions to output as binary PBM bitmap,
+     * walls black.
+     *
+     * @param out     OutputStream
+     * @param columns int
+     * @param rows    long
+     * @param random  SplittableRandom
+     * @throws IOException          if output failed
+     * @throws InterruptedException if output interrupted
+     */
+    public static final void write(final OutputStream out, final int columns, final long rows,
+            final SplittableRandom random) throws IOException, InterruptedException {
+        final OutputStream buffer = new BufferedOutputStream(out, 1 << 16);
+        final byte[] bytes = new byte[(columns + 7) >>> 3];
+        buffer.write(("P4\n" + columns + " " + rows + "\n").getBytes(StandardCharsets.US_ASCII));
+        stream(columns, rows, random, row -> {
+            // PBM packs pixels most significant bit first
+            for (int b = 0; b < bytes.length; b++)
+                bytes[b] = (byte) ~(Integer.reverse((int) (row[b >>> 3] >>> ((b & 7) << 3)) & 0xFF) >>> 24);
+            buffer.write(bytes);
+        });
+        buffer.flush();
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if (args.length < 3)
+            throw new IllegalArgumentException("Usage: Eller <columns> <rows> <file> [seed]");
+        final SplittableRandom random = args.length > 3 ? new SplittableRandom(Long.parseLong(args[3]))
+                : new SplittableRandom();
+        try (final OutputStream out = new FileOutputStream(args[2])) {
+            write(out, Integer.parseInt(args[0]), Long.parseLong(args[1]), random);
+        }
+    }
+
+    /**
+     * Open cell of row words.
+     *
+     * @param row    long[]
+     * @param column int
+     */
+    private static final void open(final long[] row, final int column) {
+        row[column >>> 6] |= 1L << column;
+    }
+
+    @Override
+    public AlgorithmParameterSpec getParameterSpec() {
+        return null;
+    }
+
+    /**
+     * Maze row sink, receiving walkability words of each row in order. Words are
+     * reused across rows and must not be retained.
+     */
+    public static abstract interface Sink {
+
+        /**
+         * Accept row walkability words, cell <code>c</code> walkable if bit
+         * <code>c & 63</code> of word <code>c >>> 6</code> is set.
+         *
+         * @param row long[]
+         * @throws IOException          if sink failed
+         * @throws InterruptedException if sink interrupted
+         */
+        public abstract void accept(final long[] row) throws IOException, InterruptedException;
+
+    }
+
+}
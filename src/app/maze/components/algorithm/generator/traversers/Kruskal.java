@@ -0,0 +1,64 @@
+package app.maze.components.algorithm.generator.traversers;
+
+import java.security.spec.AlgorithmParameterSpec;
+
+import app.maze.components.algorithm.generator.Generator;
+import app.maze.components.grid.UnionFind;
+
+/**
+ * Randomized Kruskal perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. Every wall
+ * between neighbouring lattice rooms is packed into a flat edge array and
+ * shuffled in place, then carved whenever it joins two disjoint sets of a
+ * <code>app.maze.components.grid.UnionFind</code>.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ * @see app.maze.components.grid.UnionFind UnionFind
+ */
+public class Kruskal extends Generator {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void advance(final int node) throws InterruptedException {
+        graph.fill(false);
+        // IMPORTANT: Rooms are numbered compactly, keeping the forest a quarter of the grid
+        final int width = (graph.getColumns() + 1) / 2;
+        final int height = (graph.getRows() + 1) / 2;
+        final UnionFind sets = new UnionFind(width * height);
+        final int[] edges = new int[2 * width * height];
+        int n = 0;
+        // Pack eastern and southern walls of every room as room and direction
+        for (int k = 0; k < width * height; k++) {
+            final int room = graph.index(2 * (k / width), 2 * (k % width));
+            graph.setWalkable(room, true);
+            for (int d = 1; d <= 2; d++)
+                if (next(room, d) != -1)
+                    edges[n++] = k << 1 | d - 1;
+        }
+        // Fisher-Yates shuffle of edges
+        for (int i = n - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int e = edges[i];
+            edges[i] = edges[j];
+            edges[j] = e;
+        }
+        for (int i = 0; i < n; i++) {
+            final int k = edges[i] >>> 1;
+            final int d = (edges[i] & 1) + 1;
+            // Neighbouring room wraps around periodic edges
+            final int next = d == 1 ? k / width * width + (k % width + 1) % width : (k + width) % (width * height);
+            // Ignore if rooms already joined
+            if (!sets.union(k, next))
+                continue;
+            pace();
+            carve(graph.index(2 * (k / width), 2 * (k % width)), d);
+        }
+    }
+
+    @Override
+    public AlgorithmParameterSpec getParameterSpec() {
+        return null;
+    }
+
+}
@@ -1,17 +1,79 @@
 package app.maze.components.algorithm.generator.traversers;
 
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.BitSet;
 
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.generator.Generator;
-import app.maze.components.cell.Walkable;
 
+/**
+ * Randomized Prim perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. Lattice rooms
+ * bordering the maze wait in a flat frontier array, and a random one is
+ * extracted by swapping it with the last, then joined to a random carved
+ * neighbour. A bitmap tracks frontier membership, so each room enters it once
+ * and generation stays linear in cell count.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
 public class Prim extends Generator {
 
     private static final long serialVersionUID = 1L;
 
     @Override
-    protected void advance(final Walkable node) throws InterruptedException {
+    protected void advance(final int node) throws InterruptedException {
+        graph.fill(false);
+        final int start = room(node);
+        final int[] frontier = new int[graph.size() / 4 + graph.getRows() + graph.getColumns() + 1];
+        final BitSet queued = new BitSet(graph.size());
+        final int[] carved = new int[DR.length];
+        int size = 0;
+        graph.setWalkable(start, true);
+        visited.set(start);
+        size = expand(start, frontier, size, queued);
+        while (size != 0) {
+            pace();
+            // Swap remove random frontier room
+            final int i = random.nextInt(size);
+            final int room = frontier[i];
+            frontier[i] = frontier[--size];
+            // Gather carved neighbouring rooms
+            int n = 0;
+            for (int d = 0; d < DR.length; d++) {
+                final int next = next(room, d);
+                if (next != -1 && visited.get(next))
+                    carved[n++] = d;
+            }
+            // IMPORTANT: Frontier rooms always border at least one carved room
+            final int d = carved[random.nextInt(n)];
+            carve(next(room, d), d ^ 2);
+            visited.set(room);
+            size = expand(room, frontier, size, queued);
+            // Fire germinated TraverserEvent
+            if (isListened())
+                fireNodeGerminated(new TraverserEvent(this, room));
+        }
+    }
 
+    /**
+     * Queue neighbouring rooms neither carved nor queued and return new
+     * frontier size.
+     *
+     * @param room     int
+     * @param frontier int[]
+     * @param size     int
+     * @param queued   BitSet
+     * @return int
+     */
+    private final int expand(final int room, final int[] frontier, int size, final BitSet queued) {
+        for (int d = 0; d < DR.length; d++) {
+            final int next = next(room, d);
+            if (next == -1 || visited.get(next) || queued.get(next))
+                continue;
+            queued.set(next);
+            frontier[size++] = next;
+        }
+        return size;
     }
 
     @Override
@@ -4,38 +4,47 @@ import java.security.spec.AlgorithmParameterSpec;
 
 import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.generator.Generator;
-import app.maze.components.cell.Walkable;
+import app.maze.components.grid.GridGraph;
 
 public class Randomizer extends Generator {
 
     private static final long serialVersionUID = 1L;
 
     @Override
-    protected void advance(final Walkable node) throws InterruptedException {
-        // Fire visited TraverserEvent
-        // fireNodeVisited(new TraverserEvent(this, node));
-        // Range through TreeNode children
-        for (int i = 0; i < node.getChildCount(); i++) {
-            final Walkable child = (Walkable) node.getChildAt(i);
-            // Ignore if Walkable visited
-            if (visited.contains(child))
-                continue;
-            // Visit Walkable
-            visited.add(child);
-            // Advance Walkable generation
-            advance(child);
-            // Delay iteration
-            Thread.sleep(delay);
-            // Fire traversed TraverserEvent
-            fireNodeTraversed(new TraverserEvent(this, node));
-            // Randomize Walkable
-            if (Math.random() < (double) density / 100)
-                child.setWalkable(false);
-            else
-                child.setWalkable(true);
+    protected void advance(final int node) throws InterruptedException {
+        final long[] words = scatter();
+        // Keep root walkable
+        words[node >>> 6] |= 1L << node;
+        // Apply in bulk unless animated
+        if (delay == 0 || !isListened()) {
+            graph.fill(words);
+            return;
+        }
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        final int[] stack = new int[graph.size()];
+        int top = 0;
+        stack[top++] = node;
+        // IMPORTANT: Flood on an explicit stack, since recursing once per cell overflows on large grids
+        while (top != 0) {
+            final int parent = stack[--top];
+            // Range through cell neighbors
+            for (int i = 0, n = graph.neighbors(parent, neighbors); i < n; i++) {
+                final int child = neighbors[i];
+                // Ignore if cell visited
+                if (visited.get(child))
+                    continue;
+                // Visit cell
+                visited.set(child);
+                stack[top++] = child;
+                pace();
+                // Reveal randomized cell
+                graph.setWalkable(child, (words[child >>> 6] & 1L << child) != 0);
+                // Fire traversed TraverserEvent
+                fireNodeTraversed(new TraverserEvent(this, child));
+            }
+            // Fire germinated TraverserEvent
+            fireNodeGerminated(new TraverserEvent(this, parent));
         }
-        // Fire germinated TraverserEvent
-        fireNodeGerminated(new TraverserEvent(this, node));
     }
 
     @Override
@@ -0,0 +1,217 @@
+package app.maze.components.algorithm.generator.traversers;
+
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.generator.Generator;
+import app.maze.components.grid.UnionFind;
+
+/**
+ * Deterministic tile parallel perfect maze generator, extending
+ * <code>app.maze.components.algorithm.generator.Generator</code>. The room
+ * lattice is cut into square tiles, each one carved by its own backtracker on a
+ * fork join pool, with a random stream split off the seed in tile order. Tiles
+ * are then stitched through one random seam wall along every edge of a random
+ * spanning tree over them, so the maze stays perfect and equal seeds carve it
+ * bit for bit whatever the parallelism.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ */
+public class Tiles extends Generator {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Tile side in lattice rooms.
+     */
+    public static final int TILE = 64;
+
+    /**
+     * Tile root mark, past every parent direction.
+     */
+    private static final byte ROOT = 5;
+
+    /**
+     * Fork join parallelism, common pool if 0.
+     */
+    private int parallelism = 0;
+
+    @Override
+    protected void advance(final int node) throws InterruptedException {
+        graph.fill(false);
+        final int width = (graph.getColumns() + 1) / 2;
+        final int height = (graph.getRows() + 1) / 2;
+        final int across = (width + TILE - 1) / TILE;
+        final int tiles = across * ((height + TILE - 1) / TILE);
+        // IMPORTANT: Split every stream up front in tile order, so scheduling never reorders them
+        final SplittableRandom seams = random.split();
+        final SplittableRandom[] streams = new SplittableRandom[tiles];
+        for (int t = 0; t < tiles; t++)
+            streams[t] = random.split();
+        // Parent direction plus one of each room, 0 if unvisited
+        final byte[] parents = new byte[width * height];
+        final ForkJoinPool pool = parallelism == 0 ? ForkJoinPool.commonPool() : new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new Carving(parents, streams, width, height, 0, tiles));
+        } finally {
+            if (pool != ForkJoinPool.commonPool())
+                pool.shutdown();
+        }
+        // Apply tile carvings
+        for (int k = 0; k < parents.length; k++) {
+            pace();
+            final int y = k / width;
+            final int x = k % width;
+            final int room = graph.index(2 * y, 2 * x);
+            if (parents[k] != ROOT) {
+                final int d = parents[k] - 1;
+                carve(graph.index(2 * (y + DR[d]), 2 * (x + DC[d])), d ^ 2);
+                continue;
+            }
+            graph.setWalkable(room, true);
+            // Fire traversed TraverserEvent
+            if (isListened())
+                fireNodeTraversed(new TraverserEvent(this, room));
+        }
+        stitch(seams, width, height, across, tiles);
+    }
+
+    /**
+     * Join tiles through one random seam wall along every edge of a random
+     * spanning tree over them.
+     *
+     * @param random SplittableRandom
+     * @param width  int
+     * @param height int
+     * @param across int
+     * @param tiles  int
+     * @throws InterruptedException if (!running)
+     */
+    private final void stitch(final SplittableRandom random, final int width, final int height, final int across,
+            final int tiles) throws InterruptedException {
+        final int[] edges = new int[2 * tiles];
+        int n = 0;
+        // Pack eastern and southern seams of every tile as tile and direction
+        for (int t = 0; t < tiles; t++) {
+            if ((t % across + 1) * TILE < width)
+                edges[n++] = t << 1;
+            if ((t / across + 1) * TILE < height)
+                edges[n++] = t << 1 | 1;
+        }
+        // Fisher-Yates shuffle of seams
+        for (int i = n - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int e = edges[i];
+            edges[i] = edges[j];
+            edges[j] = e;
+        }
+        final UnionFind sets = new UnionFind(tiles);
+        for (int i = 0; i < n; i++) {
+            final int t = edges[i] >>> 1;
+            final boolean south = (edges[i] & 1) != 0;
+            // Ignore if tiles already joined
+            if (!sets.union(t, south ? t + across : t + 1))
+                continue;
+            pace();
+            final int x0 = t % across * TILE;
+            final int y0 = t / across * TILE;
+            // Pick random room along seam
+            final int y = south ? y0 + TILE - 1 : y0 + random.nextInt(Math.min(TILE, height - y0));
+            final int x = south ? x0 + random.nextInt(Math.min(TILE, width - x0)) : x0 + TILE - 1;
+            carve(graph.index(2 * y, 2 * x), south ? 2 : 1);
+        }
+    }
+
+    public final int getParallelism() {
+        return parallelism;
+    }
+
+    public final void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public AlgorithmParameterSpec getParameterSpec() {
+        return null;
+    }
+
+    /**
+     * Fork join carving of a tile range, each tile carved by a backtracker on its
+     * own random stream, touching only its own rooms.
+     */
+    private static final class Carving extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] parents;
+
+        private final SplittableRandom[] streams;
+
+        private final int width;
+
+        private final int height;
+
+        private final int from;
+
+        private final int to;
+
+        private Carving(final byte[] parents, final SplittableRandom[] streams, final int width, final int height,
+                final int from, final int to) {
+            this.parents = parents;
+            this.streams = streams;
+            this.width = width;
+            this.height = height;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected final void compute() {
+            if (to - from > 1) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new Carving(parents, streams, width, height, from, mid),
+                        new Carving(parents, streams, width, height, mid, to));
+                return;
+            }
+            final int across = (width + TILE - 1) / TILE;
+            final int x0 = from % across * TILE;
+            final int y0 = from / across * TILE;
+            final int x1 = Math.min(width, x0 + TILE);
+            final int y1 = Math.min(height, y0 + TILE);
+            final SplittableRandom random = streams[from];
+            final int[] stack = new int[TILE * TILE];
+            final int[] free = new int[DR.length];
+            int top = 0;
+            final int start = (y0 + random.nextInt(y1 - y0)) * width + x0 + random.nextInt(x1 - x0);
+            parents[start] = ROOT;
+            stack[top++] = start;
+            while (top != 0) {
+                final int k = stack[top - 1];
+                final int y = k / width;
+                final int x = k % width;
+                // Gather unvisited neighbouring rooms within tile
+                int n = 0;
+                for (int d = 0; d < DR.length; d++) {
+                    final int ny = y + DR[d];
+                    final int nx = x + DC[d];
+                    if (ny >= y0 && ny < y1 && nx >= x0 && nx < x1 && parents[ny * width + nx] == 0)
+                        free[n++] = d;
+                }
+                // Back up if dead end
+                if (n == 0) {
+                    top--;
+                    continue;
+                }
+                final int d = free[random.nextInt(n)];
+                final int next = (y + DR[d]) * width + x + DC[d];
+                parents[next] = (byte) ((d ^ 2) + 1);
+                stack[top++] = next;
+            }
+        }
+
+    }
+
+}
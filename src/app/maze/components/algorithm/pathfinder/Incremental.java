@@ -0,0 +1,33 @@
+package app.maze.components.algorithm.pathfinder;
+
+import java.io.Serializable;
+
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Incremental <code>app.maze.components.algorithm.pathfinder.PathFinder</code>
+ * interface, extending <code>java.io.Serializable</code>. Search state is kept
+ * between runs, so graph changes only repair the affected part of it.
+ *
+ * @see java.io.Serializable Serializable
+ */
+public abstract interface Incremental extends Serializable {
+
+    /**
+     * Return whether search state is kept from a previous run.
+     *
+     * @return boolean
+     */
+    abstract boolean isPlanned();
+
+    /**
+     * Repair kept search state to current graph and endpoints, on the calling
+     * thread.
+     *
+     * @param graph  GridGraph
+     * @param start  int
+     * @param target int
+     */
+    abstract void replan(final GridGraph graph, final int start, final int target);
+
+}
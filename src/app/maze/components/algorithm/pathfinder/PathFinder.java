@@ -1,56 +1,150 @@
 package app.maze.components.algorithm.pathfinder;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.BiConsumer;
 
 import javax.swing.event.EventListenerList;
-import javax.swing.tree.MutableTreeNode;
-import javax.swing.tree.TreeNode;
 
 import app.maze.components.algorithm.AlgorithmManager;
 import app.maze.components.algorithm.Listenable;
 import app.maze.components.algorithm.TraverserListener;
 import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.pathfinder.frontiers.Frontier;
+import app.maze.components.algorithm.pathfinder.heuristics.Heuristic;
+import app.maze.components.grid.GridGraph;
 import utils.JWrapper;
 
 public abstract class PathFinder extends AlgorithmManager implements Listenable{
 
     private static final long serialVersionUID = 1L;
 
-    protected Set<TreeNode> visited;
+    protected BitSet visited;
+
+    protected int[] parent;
+
+    protected int[] dist;
 
     protected final EventListenerList listeners = new EventListenerList();
 
-    protected MutableTreeNode root = null;
+    protected GridGraph graph = null;
+
+    protected int root = -1;
+
+    protected int target = -1;
+
+    /**
+     * Extra targets, any of which ends search as well as target.
+     */
+    protected int[] goals = new int[0];
 
-    protected MutableTreeNode target = null;
+    /**
+     * Target membership, including extra targets.
+     */
+    private final BitSet marked = new BitSet();
 
-    protected abstract TreeNode advance(final Set<MutableTreeNode> currGen)
-            throws StackOverflowError, InterruptedException;
+    /**
+     * Volatile flag for bidirectional search from both endpoints.
+     */
+    protected volatile boolean bidirectional = false;
 
-    protected final void traverse(final TreeNode node) {
-        final List<TreeNode> path = new ArrayList<TreeNode>(0);
-        // Traverse entire TreeNode minimum spanning tree
-        for (TreeNode parent = node.getParent(); parent.getParent() != null; parent = parent.getParent())
-            path.add(parent);
-        // Reverse TreeNodePath
-        Collections.reverse(path);
+    /**
+     * Frontier kind of monotone searches, null to fit graph cost range.
+     */
+    private volatile Frontier.Kind frontier = null;
+
+    /**
+     * Search from root and return reached target, or -1 if unreachable.
+     *
+     * @param root int
+     * @return int
+     * @throws InterruptedException if (!running)
+     */
+    protected abstract int advance(final int root) throws InterruptedException;
+
+    protected final void traverse(final int node) {
+        int length = 0;
+        // Traverse entire minimum spanning tree
+        for (int p = parent[node]; p != root; p = parent[p])
+            length++;
+        final int[] path = new int[length];
+        // Store reversed path
+        for (int p = parent[node]; p != root; p = parent[p])
+            path[--length] = p;
         // Traverse generation
-        fireNodeTraversed(new TraverserEvent(this, path.toArray(new TreeNode[0])));
+        fireNodeTraversed(new TraverserEvent(this, path));
     }
 
-    public final void find(final MutableTreeNode start, final MutableTreeNode target) {
+    /**
+     * Link target to reached node through the backward search tree.
+     *
+     * @param node int
+     * @param next int[]
+     */
+    protected final void join(final int node, final int[] next) {
+        for (int i = node; i != target; i = next[i])
+            parent[next[i]] = i;
+    }
+
+    /**
+     * Return new monotone frontier of selected kind, or fitting graph cost range
+     * if none is selected.
+     *
+     * @return Frontier
+     */
+    protected final Frontier newFrontier() {
+        final Frontier.Kind kind = frontier;
+        return kind == null ? Frontier.of(graph) : kind.create(graph);
+    }
+
+    /**
+     * Return whether node is target or any extra target.
+     *
+     * @param node int
+     * @return boolean
+     */
+    protected final boolean isGoal(final int node) {
+        return node == target || goals.length != 0 && marked.get(node);
+    }
+
+    /**
+     * Return heuristic weight from node to nearest target, or 0 if none.
+     *
+     * @param heuristic Heuristic
+     * @param node      int
+     * @return int
+     */
+    protected final int fit(final Heuristic heuristic, final int node) {
+        if (target == -1)
+            return 0;
+        int best = heuristic.fit(graph, node, target);
+        for (final int goal : goals)
+            best = Math.min(best, heuristic.fit(graph, node, goal));
+        return best;
+    }
+
+    public final void find(final GridGraph graph, final int start, final int target) {
+        find(graph, start, new int[] { target });
+    }
+
+    /**
+     * Search from start towards nearest of many targets, first one being the
+     * primary target.
+     *
+     * @param graph   GridGraph
+     * @param start   int
+     * @param targets int[]
+     */
+    public final void find(final GridGraph graph, final int start, final int[] targets) {
         try {
-            if (start == null)
+            if (start == -1)
                 throw new NullPointerException("No starting node found...");
             // Set endpoints
+            setGraph(graph);
             setRoot(start);
-            setTarget(target);
+            setTargets(targets);
             // Run Thread
             start();
         } catch (final NullPointerException | InterruptedException e) {
@@ -58,26 +152,41 @@ public abstract class PathFinder extends AlgorithmManager implements Listenable{
         }
     }
 
+    /**
+     * Reset search state before searching, reusing buffers while graph size
+     * holds.
+     */
+    protected void reset() {
+        if (parent == null || parent.length != graph.size()) {
+            visited = new BitSet(graph.size());
+            parent = new int[graph.size()];
+            dist = new int[graph.size()];
+        } else
+            visited.clear();
+        Arrays.fill(parent, -1);
+        Arrays.fill(dist, Integer.MAX_VALUE);
+    }
+
     @Override
     protected final void awake() {
         try {
-            if (root == null)
+            if (graph == null || root == -1)
                 throw new NullPointerException("PathFinder is not initialized...");
-            visited = new HashSet<TreeNode>(0);
-            final TreeNode tagret = advance(new HashSet<MutableTreeNode>() {
-                private static final long serialVersionUID = 1L;
-                {
-                    // Construct first generation
-                    add(root);
-                    // Set running
-                    setRunning(true);
-                }
-            });
-            if (target == null)
+            reset();
+            // Set running
+            setRunning(true);
+            final int tagret = advance(root);
+            if (target == -1)
                 return;
-            traverse(tagret);
-        } catch (final NullPointerException | StackOverflowError | InterruptedException e) {
-            JWrapper.dispatchException(e);
+            if (tagret == -1)
+                throw new NoSuchElementException("No solution...");
+            // Root reached as goal holds an empty path
+            if (tagret == root)
+                fireNodeTraversed(new TraverserEvent(this, new int[0]));
+            else
+                traverse(tagret);
+        } catch (final NullPointerException | NoSuchElementException | InterruptedException e) {
+            dispatchException(e);
         } finally {
             // End running
             setRunning(false);
@@ -104,21 +213,71 @@ public abstract class PathFinder extends AlgorithmManager implements Listenable{
                 fire.accept((TraverserListener) listeners[i + 1], e);
     }
 
-    public final TreeNode getRoot() {
+    public final GridGraph getGraph() {
+        return graph;
+    }
+
+    public synchronized final void setGraph(final GridGraph graph) throws InterruptedException {
+        assertRunning();
+        this.graph = Objects.requireNonNull(graph, "GridGraph must not be null...");
+    }
+
+    public final int getRoot() {
         return root;
     }
 
-    public synchronized final void setRoot(final MutableTreeNode root) throws InterruptedException {
+    public synchronized final void setRoot(final int root) throws InterruptedException {
         assertRunning();
-        this.root = Objects.requireNonNull(root, "Start must not be null...");
+        if (root == -1)
+            throw new NullPointerException("Start must not be null...");
+        this.root = root;
     }
 
-    public final TreeNode getTarget() {
+    public final int getTarget() {
         return target;
     }
 
-    public synchronized final void setTarget(final MutableTreeNode target) {
-        this.target = target;
+    public synchronized final void setTarget(final int target) {
+        setTargets(new int[] { target });
+    }
+
+    /**
+     * Return extra targets.
+     *
+     * @return int[]
+     */
+    public final int[] getGoals() {
+        return goals.clone();
+    }
+
+    /**
+     * Set primary target and extra targets, first one being the primary target.
+     *
+     * @param targets int[]
+     */
+    public synchronized final void setTargets(final int[] targets) {
+        Objects.requireNonNull(targets, "Targets must not be null...");
+        target = targets.length == 0 ? -1 : targets[0];
+        goals = targets.length <= 1 ? new int[0] : Arrays.copyOfRange(targets, 1, targets.length);
+        marked.clear();
+        for (final int goal : goals)
+            marked.set(goal);
+    }
+
+    public final boolean isBidirectional() {
+        return bidirectional;
+    }
+
+    public synchronized final void setBidirectional(final boolean bidirectional) {
+        this.bidirectional = bidirectional;
+    }
+
+    public final Frontier.Kind getFrontier() {
+        return frontier;
+    }
+
+    public synchronized final void setFrontier(final Frontier.Kind frontier) {
+        this.frontier = frontier;
     }
 
     @Override
@@ -126,7 +285,7 @@ public abstract class PathFinder extends AlgorithmManager implements Listenable{
         final int prime = 31;
         int result = 1;
         result = prime * result + (running ? 1231 : 1237);
-        result = prime * result + ((target == null) ? 0 : target.hashCode());
+        result = prime * result + target;
         return result;
     }
 
@@ -141,11 +300,8 @@ public abstract class PathFinder extends AlgorithmManager implements Listenable{
         final PathFinder other = (PathFinder) obj;
         if (running != other.running)
             return false;
-        if (target == null)
-            if (other.target != null)
-                return false;
-            else if (!target.equals(other.target))
-                return false;
+        if (target != other.target)
+            return false;
         return true;
     }
 
@@ -0,0 +1,129 @@
+package app.maze.components.algorithm.pathfinder.field;
+
+import java.util.Arrays;
+
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Target rooted flow field over a <code>app.maze.components.grid.GridGraph</code>.
+ * Every cell stores a single direction byte towards its next step to target,
+ * so any number of agents share one backward search.
+ *
+ * @see app.maze.components.grid.GridGraph GridGraph
+ */
+public final class FlowField {
+
+    /**
+     * No direction, if target or unreachable.
+     */
+    public static final byte NONE = -1;
+
+    /**
+     * Direction row offsets.
+     */
+    private static final int[] DR = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+    /**
+     * Direction column offsets.
+     */
+    private static final int[] DC = { -1, 0, 1, -1, 1, -1, 0, 1 };
+
+    /**
+     * Flowed grid graph.
+     */
+    private final GridGraph graph;
+
+    /**
+     * Field target.
+     */
+    private final int target;
+
+    /**
+     * Direction of each cell.
+     */
+    private final byte[] direction;
+
+    /**
+     * Create new empty flow field towards target.
+     *
+     * @param graph  GridGraph
+     * @param target int
+     */
+    public FlowField(final GridGraph graph, final int target) {
+        this.graph = graph;
+        this.target = target;
+        direction = new byte[graph.size()];
+        Arrays.fill(direction, NONE);
+    }
+
+    /**
+     * Return wrapped unit offset between neighbouring coordinates.
+     *
+     * @param from   int
+     * @param to     int
+     * @param length int
+     * @return int
+     */
+    private static final int offset(final int from, final int to, final int length) {
+        final int d = to - from;
+        return d > 1 ? d - length : d < -1 ? d + length : d;
+    }
+
+    /**
+     * Point cell towards neighbouring cell.
+     *
+     * @param from int
+     * @param to   int
+     */
+    public final void point(final int from, final int to) {
+        final int dr = offset(graph.row(from), graph.row(to), graph.getRows());
+        final int dc = offset(graph.column(from), graph.column(to), graph.getColumns());
+        final int code = (dr + 1) * 3 + dc + 1;
+        direction[from] = (byte) (code > 4 ? code - 1 : code);
+    }
+
+    /**
+     * Return next step of cell towards target, or -1 if none.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int next(final int i) {
+        final byte d = direction[i];
+        return d == NONE ? -1 : graph.index(graph.row(i) + DR[d], graph.column(i) + DC[d]);
+    }
+
+    /**
+     * Return whether cell reaches target.
+     *
+     * @param i int
+     * @return boolean
+     */
+    public final boolean reaches(final int i) {
+        return i == target || direction[i] != NONE;
+    }
+
+    /**
+     * Return flowed grid graph.
+     *
+     * @return GridGraph
+     */
+    public final GridGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Return field target.
+     *
+     * @return int
+     */
+    public final int getTarget() {
+        return target;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format("FlowField [target: %d]", target);
+    }
+
+}
@@ -0,0 +1,264 @@
+package app.maze.components.algorithm.pathfinder.frontiers;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed binary min-heap over grid graph cell indices, implementing
+ * <code>app.maze.components.algorithm.pathfinder.frontiers.Frontier</code>.
+ * Keys may be pushed in any order, unlike monotone frontiers, and may carry
+ * a second component breaking ties between equal keys.
+ *
+ * @see app.maze.components.algorithm.pathfinder.frontiers.Frontier Frontier
+ */
+public final class BinaryHeap implements Frontier {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Heap ordered cell indices.
+     */
+    private final int[] heap;
+
+    /**
+     * Heap ordered keys.
+     */
+    private final int[] keys;
+
+    /**
+     * Heap ordered second key components.
+     */
+    private final int[] ties;
+
+    /**
+     * Cell heap position, -1 if absent.
+     */
+    private final int[] position;
+
+    /**
+     * Current entry count.
+     */
+    private int size = 0;
+
+    /**
+     * Create new empty heap for given cell count.
+     *
+     * @param capacity int
+     */
+    public BinaryHeap(final int capacity) {
+        heap = new int[capacity];
+        keys = new int[capacity];
+        ties = new int[capacity];
+        position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    /**
+     * Insert cell or decrease its key.
+     *
+     * @param node int
+     * @param key  int
+     */
+    public final void push(final int node, final int key) {
+        push(node, key, 0);
+    }
+
+    /**
+     * Insert cell or decrease its key, ordering equal keys by second component.
+     *
+     * @param node int
+     * @param key  int
+     * @param tie  int
+     */
+    public final void push(final int node, final int key, final int tie) {
+        int i = position[node];
+        if (i == -1) {
+            i = size++;
+            heap[i] = node;
+            position[node] = i;
+        } else if (!below(key, tie, keys[i], ties[i]))
+            return;
+        keys[i] = key;
+        ties[i] = tie;
+        up(i);
+    }
+
+    /**
+     * Remove and return minimum key cell.
+     *
+     * @return int
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    public final int poll() throws NoSuchElementException {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty...");
+        final int node = heap[0];
+        position[node] = -1;
+        if (--size > 0) {
+            move(size, 0);
+            down(0);
+        }
+        return node;
+    }
+
+    /**
+     * Return minimum key.
+     *
+     * @return int
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    public final int peekKey() throws NoSuchElementException {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty...");
+        return keys[0];
+    }
+
+    /**
+     * Return second component of minimum key.
+     *
+     * @return int
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    public final int peekTie() throws NoSuchElementException {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty...");
+        return ties[0];
+    }
+
+    /**
+     * Remove cell if queued.
+     *
+     * @param node int
+     */
+    public final void remove(final int node) {
+        final int i = position[node];
+        if (i == -1)
+            return;
+        position[node] = -1;
+        if (--size == i)
+            return;
+        final int moved = heap[size];
+        move(size, i);
+        // Moved entry may belong either above or below
+        up(i);
+        down(position[moved]);
+    }
+
+    /**
+     * Remove every entry, touching queued cells only.
+     */
+    public final void clear() {
+        for (int i = 0; i < size; i++)
+            position[heap[i]] = -1;
+        size = 0;
+    }
+
+    /**
+     * Return cell capacity.
+     *
+     * @return int
+     */
+    public final int capacity() {
+        return position.length;
+    }
+
+    /**
+     * Return whether cell is queued.
+     *
+     * @param node int
+     * @return boolean
+     */
+    public final boolean contains(final int node) {
+        return position[node] != -1;
+    }
+
+    /**
+     * Return whether heap is empty.
+     *
+     * @return boolean
+     */
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Return current entry count.
+     *
+     * @return int
+     */
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Return whether first key orders before second one.
+     *
+     * @param key  int
+     * @param tie  int
+     * @param than int
+     * @param tied int
+     * @return boolean
+     */
+    private static final boolean below(final int key, final int tie, final int than, final int tied) {
+        return key < than || key == than && tie < tied;
+    }
+
+    /**
+     * Sift entry up.
+     *
+     * @param i int
+     */
+    private final void up(int i) {
+        final int node = heap[i];
+        final int key = keys[i];
+        final int tie = ties[i];
+        while (i > 0) {
+            final int p = (i - 1) >>> 1;
+            if (!below(key, tie, keys[p], ties[p]))
+                break;
+            move(p, i);
+            i = p;
+        }
+        heap[i] = node;
+        keys[i] = key;
+        ties[i] = tie;
+        position[node] = i;
+    }
+
+    /**
+     * Sift entry down.
+     *
+     * @param i int
+     */
+    private final void down(int i) {
+        final int node = heap[i];
+        final int key = keys[i];
+        final int tie = ties[i];
+        for (int c = 2 * i + 1; c < size; c = 2 * i + 1) {
+            if (c + 1 < size && below(keys[c + 1], ties[c + 1], keys[c], ties[c]))
+                c++;
+            if (!below(keys[c], ties[c], key, tie))
+                break;
+            move(c, i);
+            i = c;
+        }
+        heap[i] = node;
+        keys[i] = key;
+        ties[i] = tie;
+        position[node] = i;
+    }
+
+    /**
+     * Move entry between heap positions.
+     *
+     * @param from int
+     * @param to   int
+     */
+    private final void move(final int from, final int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        ties[to] = ties[from];
+        position[heap[to]] = to;
+    }
+
+}
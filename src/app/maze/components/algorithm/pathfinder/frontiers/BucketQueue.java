@@ -0,0 +1,214 @@
+package app.maze.components.algorithm.pathfinder.frontiers;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed Dial bucket queue over grid graph cell indices, implementing
+ * <code>app.maze.components.algorithm.pathfinder.frontiers.Frontier</code>.
+ * A circular array holds one linked bucket per key, so pushes and polls take
+ * amortized constant time as long as keys never drop below the last polled
+ * one. Lower keys are raised to it, and the circle grows if queued keys
+ * overtake it.
+ *
+ * @see app.maze.components.algorithm.pathfinder.frontiers.Frontier Frontier
+ */
+public final class BucketQueue implements Frontier {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Widest key span picked by default, covering every byte cost range.
+     */
+    public static final int SPAN = 1 << 13;
+
+    /**
+     * First cell of each bucket, -1 if empty.
+     */
+    private int[] head;
+
+    /**
+     * Next cell in bucket, -1 if last.
+     */
+    private final int[] next;
+
+    /**
+     * Previous cell in bucket, -1 if first.
+     */
+    private final int[] prev;
+
+    /**
+     * Cell key, -1 if absent.
+     */
+    private final int[] keys;
+
+    /**
+     * Last polled key, lower bound of every pushed key.
+     */
+    private int floor = 0;
+
+    /**
+     * Lower bound of every queued key.
+     */
+    private int cursor = 0;
+
+    /**
+     * Upper bound of every queued key.
+     */
+    private int ceiling = 0;
+
+    /**
+     * Current entry count.
+     */
+    private int size = 0;
+
+    /**
+     * Create new empty bucket queue for given cell count and key span.
+     *
+     * @param capacity int
+     * @param span     int
+     */
+    public BucketQueue(final int capacity, final int span) {
+        head = new int[Integer.highestOneBit(Math.max(span - 1, 1)) << 1];
+        next = new int[capacity];
+        prev = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(head, -1);
+        Arrays.fill(keys, -1);
+    }
+
+    @Override
+    public final void push(final int node, int key) {
+        key = Math.max(key, floor);
+        if (keys[node] != -1) {
+            if (key >= keys[node])
+                return;
+            unlink(node);
+        }
+        // Restart circle on empty queue
+        if (size == 0)
+            cursor = ceiling = key;
+        cursor = Math.min(cursor, key);
+        ceiling = Math.max(ceiling, key);
+        if (ceiling - cursor >= head.length)
+            grow(ceiling - cursor + 1);
+        link(node, key);
+    }
+
+    @Override
+    public final int poll() throws NoSuchElementException {
+        floor = advance();
+        final int node = head[floor & head.length - 1];
+        unlink(node);
+        return node;
+    }
+
+    @Override
+    public final int peekKey() throws NoSuchElementException {
+        return advance();
+    }
+
+    @Override
+    public final void remove(final int node) {
+        if (keys[node] != -1)
+            unlink(node);
+    }
+
+    @Override
+    public final void clear() {
+        for (int b = 0; b < head.length && size > 0; b++)
+            while (head[b] != -1)
+                unlink(head[b]);
+        floor = cursor = ceiling = 0;
+    }
+
+    @Override
+    public final int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public final boolean contains(final int node) {
+        return keys[node] != -1;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Move cursor to first non empty bucket and return its key.
+     *
+     * @return int
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    private final int advance() throws NoSuchElementException {
+        if (size == 0)
+            throw new NoSuchElementException("Queue is empty...");
+        while (head[cursor & head.length - 1] == -1)
+            cursor++;
+        return cursor;
+    }
+
+    /**
+     * Prepend cell to bucket of key.
+     *
+     * @param node int
+     * @param key  int
+     */
+    private final void link(final int node, final int key) {
+        final int b = key & head.length - 1;
+        keys[node] = key;
+        prev[node] = -1;
+        next[node] = head[b];
+        if (head[b] != -1)
+            prev[head[b]] = node;
+        head[b] = node;
+        size++;
+    }
+
+    /**
+     * Remove cell from its bucket.
+     *
+     * @param node int
+     */
+    private final void unlink(final int node) {
+        if (prev[node] != -1)
+            next[prev[node]] = next[node];
+        else
+            head[keys[node] & head.length - 1] = next[node];
+        if (next[node] != -1)
+            prev[next[node]] = prev[node];
+        keys[node] = -1;
+        size--;
+    }
+
+    /**
+     * Widen circle to fit key span, relinking every entry.
+     *
+     * @param span int
+     */
+    private final void grow(final int span) {
+        final int[] old = head;
+        final int[] queued = new int[size];
+        int count = 0;
+        for (int b = 0; b < old.length; b++)
+            for (int node = old[b]; node != -1; node = next[node])
+                queued[count++] = node;
+        final int[] key = new int[count];
+        for (int k = 0; k < count; k++)
+            key[k] = keys[queued[k]];
+        head = new int[Integer.highestOneBit(span - 1) << 1];
+        Arrays.fill(head, -1);
+        size = 0;
+        for (int k = 0; k < count; k++)
+            link(queued[k], key[k]);
+    }
+
+}
@@ -0,0 +1,123 @@
+package app.maze.components.algorithm.pathfinder.frontiers;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Indexed min-priority frontier over grid graph cell indices, extending
+ * <code>java.io.Serializable</code>. Every cell holds at most one entry, so
+ * decreasing a key moves the entry instead of duplicating it.
+ *
+ * @see java.io.Serializable Serializable
+ */
+public abstract interface Frontier extends Serializable {
+
+    /**
+     * Insert cell or decrease its key.
+     *
+     * @param node int
+     * @param key  int
+     */
+    public abstract void push(final int node, final int key);
+
+    /**
+     * Remove and return minimum key cell.
+     *
+     * @return int
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    public abstract int poll() throws NoSuchElementException;
+
+    /**
+     * Return minimum key.
+     *
+     * @return int
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    public abstract int peekKey() throws NoSuchElementException;
+
+    /**
+     * Remove cell if queued.
+     *
+     * @param node int
+     */
+    public abstract void remove(final int node);
+
+    /**
+     * Remove every entry.
+     */
+    public abstract void clear();
+
+    /**
+     * Return cell capacity.
+     *
+     * @return int
+     */
+    public abstract int capacity();
+
+    /**
+     * Return whether cell is queued.
+     *
+     * @param node int
+     * @return boolean
+     */
+    public abstract boolean contains(final int node);
+
+    /**
+     * Return whether frontier is empty.
+     *
+     * @return boolean
+     */
+    public abstract boolean isEmpty();
+
+    /**
+     * Return current entry count.
+     *
+     * @return int
+     */
+    public abstract int size();
+
+    /**
+     * Return monotone frontier fitting graph cost range, for searches whose keys
+     * never drop below the last polled one. Consistent heuristics keep keys
+     * within twice the heaviest step of the minimum, which a bucket queue spans
+     * for every byte cost range and beats both heaps on unit, narrow and full
+     * cost grids alike. Wider spans get a radix heap.
+     *
+     * @param graph GridGraph
+     * @return Frontier
+     */
+    public static Frontier of(final GridGraph graph) {
+        final int span = 2 * graph.getMaxCost() * GridGraph.DIAGONAL + 1;
+        return span <= BucketQueue.SPAN ? new BucketQueue(graph.size(), span) : new RadixHeap(graph.size());
+    }
+
+    /**
+     * Selectable frontier implementations, for monotone searches.
+     */
+    public static enum Kind {
+
+        BINARY_HEAP, BUCKET_QUEUE, RADIX_HEAP;
+
+        /**
+         * Return new frontier of this kind over graph cells.
+         *
+         * @param graph GridGraph
+         * @return Frontier
+         */
+        public final Frontier create(final GridGraph graph) {
+            switch (this) {
+                case BINARY_HEAP:
+                    return new BinaryHeap(graph.size());
+                case RADIX_HEAP:
+                    return new RadixHeap(graph.size());
+                default:
+                    return new BucketQueue(graph.size(), 2 * graph.getMaxCost() * GridGraph.DIAGONAL + 1);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+package app.maze.components.algorithm.pathfinder.frontiers;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed radix heap over grid graph cell indices, implementing
+ * <code>app.maze.components.algorithm.pathfinder.frontiers.Frontier</code>.
+ * Cells are bucketed by the highest bit their key differs from the last
+ * minimum in, so each one is redistributed at most once per bit, whatever the
+ * key range. Buckets are packed arrays, and decreased or removed cells leave
+ * stale entries behind, skipped once reached. Keys below the last minimum are
+ * raised to it.
+ *
+ * @see app.maze.components.algorithm.pathfinder.frontiers.Frontier Frontier
+ */
+public final class RadixHeap implements Frontier {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Bucket cells.
+     */
+    private final int[][] nodes = new int[Integer.SIZE + 1][16];
+
+    /**
+     * Bucket keys, matching cell key unless stale.
+     */
+    private final int[][] entries = new int[Integer.SIZE + 1][16];
+
+    /**
+     * Bucket entry count.
+     */
+    private final int[] count = new int[Integer.SIZE + 1];
+
+    /**
+     * Cell key, -1 if absent.
+     */
+    private final int[] keys;
+
+    /**
+     * Last minimum key.
+     */
+    private int last = 0;
+
+    /**
+     * Current entry count, excluding stale entries.
+     */
+    private int size = 0;
+
+    /**
+     * Create new empty radix heap for given cell count.
+     *
+     * @param capacity int
+     */
+    public RadixHeap(final int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, -1);
+    }
+
+    @Override
+    public final void push(final int node, int key) {
+        // Drop stale entries on empty heap
+        if (size == 0)
+            Arrays.fill(count, 0);
+        key = Math.max(key, last);
+        if (keys[node] == -1)
+            size++;
+        else if (key >= keys[node])
+            return;
+        keys[node] = key;
+        add(node, key);
+    }
+
+    @Override
+    public final int poll() throws NoSuchElementException {
+        settle();
+        final int node = nodes[0][--count[0]];
+        keys[node] = -1;
+        size--;
+        return node;
+    }
+
+    @Override
+    public final int peekKey() throws NoSuchElementException {
+        settle();
+        return last;
+    }
+
+    @Override
+    public final void remove(final int node) {
+        if (keys[node] == -1)
+            return;
+        keys[node] = -1;
+        size--;
+    }
+
+    @Override
+    public final void clear() {
+        for (int b = 0; b < count.length; b++) {
+            for (int e = 0; e < count[b]; e++)
+                keys[nodes[b][e]] = -1;
+            count[b] = 0;
+        }
+        size = 0;
+        last = 0;
+    }
+
+    @Override
+    public final int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public final boolean contains(final int node) {
+        return keys[node] != -1;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public final int size() {
+        return size;
+    }
+
+    /**
+     * Leave a live minimum key cell on top of first bucket, redistributing lowest
+     * non empty buckets around their minimum.
+     *
+     * @throws NoSuchElementException if (isEmpty())
+     */
+    private final void settle() throws NoSuchElementException {
+        if (size == 0)
+            throw new NoSuchElementException("Heap is empty...");
+        while (true) {
+            // Drop stale entries off first bucket
+            while (count[0] > 0 && keys[nodes[0][count[0] - 1]] != last)
+                count[0]--;
+            if (count[0] > 0)
+                return;
+            int b = 1;
+            while (count[b] == 0)
+                b++;
+            final int[] bucket = nodes[b];
+            final int[] key = entries[b];
+            final int n = count[b];
+            count[b] = 0;
+            int min = Integer.MAX_VALUE;
+            for (int e = 0; e < n; e++)
+                if (keys[bucket[e]] == key[e])
+                    min = Math.min(min, key[e]);
+            // Every entry was stale
+            if (min == Integer.MAX_VALUE)
+                continue;
+            last = min;
+            // IMPORTANT: Every live entry lands in a lower bucket, since they share bits above b
+            for (int e = 0; e < n; e++)
+                if (keys[bucket[e]] == key[e])
+                    add(bucket[e], key[e]);
+        }
+    }
+
+    /**
+     * Append entry to bucket of its key.
+     *
+     * @param node int
+     * @param key  int
+     */
+    private final void add(final int node, final int key) {
+        final int diff = key ^ last;
+        final int b = diff == 0 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(diff);
+        if (count[b] == nodes[b].length) {
+            nodes[b] = Arrays.copyOf(nodes[b], count[b] * 2);
+            entries[b] = Arrays.copyOf(entries[b], count[b] * 2);
+        }
+        nodes[b][count[b]] = node;
+        entries[b][count[b]++] = key;
+    }
+
+}
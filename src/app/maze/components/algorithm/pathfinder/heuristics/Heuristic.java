@@ -3,17 +3,111 @@ package app.maze.components.algorithm.pathfinder.heuristics;
 import java.io.Serializable;
 import java.security.spec.AlgorithmParameterSpec;
 
+import app.maze.components.grid.GridGraph;
+
 public interface Heuristic extends AlgorithmParameterSpec, Serializable {
 
-    public abstract int fit();
+    public static final Heuristic MANHATTAN = new ManhattanDistance();
+
+    public static final Heuristic OCTILE = new OctileDistance();
+
+    public static final Heuristic CHEBYSHEV = new ChebyshevDistance();
+
+    public static final Heuristic EUCLIDEAN = new EuclideanDistance();
+
+    /**
+     * Estimate weight between cells, never overestimating it.
+     *
+     * @param graph GridGraph
+     * @param from  int
+     * @param to    int
+     * @return int
+     */
+    public abstract int fit(final GridGraph graph, final int from, final int to);
+
+    /**
+     * Return heuristic matching graph topology.
+     *
+     * @param graph GridGraph
+     * @return Heuristic
+     */
+    public static Heuristic of(final GridGraph graph) {
+        return graph.isEdged() ? OCTILE : MANHATTAN;
+    }
+
+    /**
+     * Return row distance, wrapping around if periodic.
+     *
+     * @param graph GridGraph
+     * @param from  int
+     * @param to    int
+     * @return int
+     */
+    public static int dy(final GridGraph graph, final int from, final int to) {
+        final int dy = Math.abs(graph.row(from) - graph.row(to));
+        return graph.isPeriodic() ? Math.min(dy, graph.getRows() - dy) : dy;
+    }
+
+    /**
+     * Return column distance, wrapping around if periodic.
+     *
+     * @param graph GridGraph
+     * @param from  int
+     * @param to    int
+     * @return int
+     */
+    public static int dx(final GridGraph graph, final int from, final int to) {
+        final int dx = Math.abs(graph.column(from) - graph.column(to));
+        return graph.isPeriodic() ? Math.min(dx, graph.getColumns() - dx) : dx;
+    }
+
+    public static final class ManhattanDistance implements Heuristic {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public final int fit(final GridGraph graph, final int from, final int to) {
+            return GridGraph.ORTHOGONAL * (dx(graph, from, to) + dy(graph, from, to));
+        }
+
+    }
+
+    public static final class OctileDistance implements Heuristic {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public final int fit(final GridGraph graph, final int from, final int to) {
+            final int dx = dx(graph, from, to);
+            final int dy = dy(graph, from, to);
+            return GridGraph.ORTHOGONAL * Math.abs(dx - dy) + GridGraph.DIAGONAL * Math.min(dx, dy);
+        }
+
+    }
+
+    public static final class ChebyshevDistance implements Heuristic {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public final int fit(final GridGraph graph, final int from, final int to) {
+            return GridGraph.ORTHOGONAL * Math.max(dx(graph, from, to), dy(graph, from, to));
+        }
+
+    }
 
     public static final class EuclideanDistance implements Heuristic {
 
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Scale keeping diagonal steps admissible.
+         */
+        private static final double SCALE = GridGraph.DIAGONAL / Math.sqrt(2);
+
         @Override
-        public final int fit() {
-            return 0;
+        public final int fit(final GridGraph graph, final int from, final int to) {
+            return (int) (SCALE * Math.hypot(dx(graph, from, to), dy(graph, from, to)));
         }
 
     }
@@ -0,0 +1,218 @@
+package app.maze.components.algorithm.pathfinder.heuristics;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import app.maze.components.algorithm.pathfinder.frontiers.Frontier;
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Landmark heuristic, implementing
+ * <code>app.maze.components.algorithm.pathfinder.heuristics.Heuristic</code>.
+ * Weights from and to a few landmarks are precomputed once per graph version,
+ * in parallel, and bound any weight through the triangle inequality, which
+ * stays tight along maze corridors where geometric distances do not. Tables
+ * take one int per cell and landmark, twice on weighted graphs.
+ *
+ * @see app.maze.components.algorithm.pathfinder.heuristics.Heuristic Heuristic
+ */
+public final class Landmarks implements Heuristic {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default landmark count.
+     */
+    public static final int COUNT = 8;
+
+    /**
+     * Maximum landmark count.
+     */
+    private final int count;
+
+    /**
+     * Tables of last graph version.
+     */
+    private transient volatile Table table = null;
+
+    /**
+     * Create landmark heuristic of given landmark count.
+     *
+     * @param count int
+     */
+    public Landmarks(final int count) {
+        if (count < 1)
+            throw new IllegalArgumentException("Landmark count must be positive...");
+        this.count = count;
+    }
+
+    /**
+     * Create landmark heuristic of default landmark count.
+     */
+    public Landmarks() {
+        this(COUNT);
+    }
+
+    @Override
+    public final int fit(final GridGraph graph, final int from, final int to) {
+        Table table = this.table;
+        // Rebuild tables on other graph or changed one
+        if (table == null || table.graph != graph || table.version != graph.getVersion())
+            table = build(graph);
+        int best = Heuristic.of(graph).fit(graph, from, to);
+        for (int k = 0; k < table.landmarks.length; k++) {
+            final int[] out = table.from[k];
+            final int[] in = table.to[k];
+            // Ignore landmark if either cell is outside its component
+            if (out[from] == Integer.MAX_VALUE || out[to] == Integer.MAX_VALUE)
+                continue;
+            best = Math.max(best, Math.max(out[to] - out[from], in[from] - in[to]));
+        }
+        return best;
+    }
+
+    /**
+     * Build tables of current graph version, unless already built by another
+     * thread.
+     *
+     * @param graph GridGraph
+     * @return Table
+     */
+    private synchronized final Table build(final GridGraph graph) {
+        if (table != null && table.graph == graph && table.version == graph.getVersion())
+            return table;
+        final int version = graph.getVersion();
+        final int[] landmarks = select(graph);
+        final int n = landmarks.length;
+        final boolean uniform = graph.isUniform();
+        final int[][] from = new int[n][];
+        final int[][] to = uniform ? from : new int[n][];
+        // Search from and to every landmark in parallel
+        IntStream.range(0, uniform ? n : 2 * n).parallel().forEach(k -> {
+            if (k < n)
+                from[k] = search(graph, landmarks[k], false);
+            else
+                to[k - n] = search(graph, landmarks[k - n], true);
+        });
+        return table = new Table(graph, version, landmarks, from, to);
+    }
+
+    /**
+     * Select landmarks as farthest reachable cells of equal angular sectors
+     * around a central walkable cell.
+     *
+     * @param graph GridGraph
+     * @return int[]
+     */
+    private final int[] select(final GridGraph graph) {
+        final int center = graph.index(graph.getRows() / 2, graph.getColumns() / 2);
+        int origin = -1;
+        // Scan outwards from center for a walkable cell
+        for (int d = 0; origin == -1 && d < graph.size(); d++) {
+            if (center + d < graph.size() && graph.isWalkable(center + d))
+                origin = center + d;
+            else if (center - d >= 0 && graph.isWalkable(center - d))
+                origin = center - d;
+        }
+        if (origin == -1)
+            return new int[0];
+        final int[] dist = search(graph, origin, false);
+        final int[] landmarks = new int[count];
+        Arrays.fill(landmarks, -1);
+        for (int i = 0; i < graph.size(); i++) {
+            if (dist[i] == Integer.MAX_VALUE || i == origin)
+                continue;
+            final double angle = Math.atan2(graph.row(i) - graph.row(origin), graph.column(i) - graph.column(origin));
+            final int s = Math.min(count - 1, (int) ((angle + Math.PI) / (2 * Math.PI) * count));
+            if (landmarks[s] == -1 || dist[i] > dist[landmarks[s]])
+                landmarks[s] = i;
+        }
+        // Drop empty sectors
+        return Arrays.stream(landmarks).filter(i -> i != -1).toArray();
+    }
+
+    /**
+     * Return weights from source to every cell, or to source from every cell if
+     * reverse.
+     *
+     * @param graph   GridGraph
+     * @param source  int
+     * @param reverse boolean
+     * @return int[]
+     */
+    private static final int[] search(final GridGraph graph, final int source, final boolean reverse) {
+        final int[] dist = new int[graph.size()];
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        final Frontier frontier = Frontier.of(graph);
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        dist[source] = 0;
+        frontier.push(source, 0);
+        while (!frontier.isEmpty()) {
+            final int node = frontier.poll();
+            for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                final int child = neighbors[i];
+                if (!graph.isWalkable(child))
+                    continue;
+                // Reverse search walks edges backwards
+                final int alt = dist[node] + (reverse ? graph.weight(child, node) : graph.weight(node, child));
+                if (alt >= dist[child])
+                    continue;
+                dist[child] = alt;
+                frontier.push(child, alt);
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Return maximum landmark count.
+     *
+     * @return int
+     */
+    public final int getCount() {
+        return count;
+    }
+
+    /**
+     * Return landmarks of last graph version, if any.
+     *
+     * @return int[]
+     */
+    public final int[] getLandmarks() {
+        final Table table = this.table;
+        return table == null ? new int[0] : table.landmarks.clone();
+    }
+
+    /**
+     * Immutable landmark tables of a graph version.
+     */
+    private static final class Table {
+
+        private final GridGraph graph;
+
+        private final int version;
+
+        private final int[] landmarks;
+
+        /**
+         * Weights from each landmark.
+         */
+        private final int[][] from;
+
+        /**
+         * Weights to each landmark.
+         */
+        private final int[][] to;
+
+        private Table(final GridGraph graph, final int version, final int[] landmarks, final int[][] from,
+                final int[][] to) {
+            this.graph = graph;
+            this.version = version;
+            this.landmarks = landmarks;
+            this.from = from;
+            this.to = to;
+        }
+
+    }
+
+}
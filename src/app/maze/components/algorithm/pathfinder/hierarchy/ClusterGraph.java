@@ -0,0 +1,564 @@
+package app.maze.components.algorithm.pathfinder.hierarchy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import app.maze.components.algorithm.pathfinder.frontiers.BinaryHeap;
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Hierarchical abstraction of a <code>app.maze.components.grid.GridGraph</code>.
+ * The grid is split into square clusters, whose border crossings become
+ * entrance nodes linked by precomputed intra cluster weights. Cell changes are
+ * replayed from the graph journal, so only the clusters around them rebuild.
+ *
+ * @see app.maze.components.grid.GridGraph GridGraph
+ */
+public final class ClusterGraph {
+
+    /**
+     * Default cluster side.
+     */
+    public static final int SIZE = 16;
+
+    /**
+     * Entrance runs at least this long get one transition at each end.
+     */
+    private static final int SPLIT = 6;
+
+    /**
+     * Abstracted grid graph.
+     */
+    private final GridGraph graph;
+
+    /**
+     * Cluster side.
+     */
+    private final int size;
+
+    /**
+     * Cluster dimension rows.
+     */
+    private int rows;
+
+    /**
+     * Cluster dimension columns.
+     */
+    private int columns;
+
+    /**
+     * Graph version last synchronized.
+     */
+    private int version;
+
+    /**
+     * Entrance cells of each cluster.
+     */
+    private int[][] nodes;
+
+    /**
+     * Flattened entrance to entrance weights of each cluster, staying inside it.
+     */
+    private int[][] weights;
+
+    /**
+     * Flattened (entrance slot, outer cell, weight) transitions of each cluster.
+     */
+    private int[][] links;
+
+    /**
+     * Refined inner paths between entrance slots of each cluster, from target
+     * back to source, cached on first refinement until cluster rebuilds.
+     */
+    private int[][][] paths;
+
+    /**
+     * Clusters awaiting rebuild.
+     */
+    private final BitSet dirty = new BitSet();
+
+    /**
+     * Local search frontier, over cluster local indices.
+     */
+    private final BinaryHeap frontier;
+
+    /**
+     * Local search weights, over cluster local indices.
+     */
+    private final int[] local;
+
+    /**
+     * Local search parents, over cluster local indices.
+     */
+    private final int[] trail;
+
+    /**
+     * Cells of connected cluster, over local indices, -1 past its bounds.
+     */
+    private final int[] cells;
+
+    /**
+     * Walkable inner neighbor count of connected cluster, over local indices.
+     */
+    private final int[] degree;
+
+    /**
+     * Walkable inner neighbors of connected cluster, <code>GridGraph.DEGREE</code>
+     * slots per local index.
+     */
+    private final int[] adjacent;
+
+    /**
+     * Step weights towards inner neighbors of connected cluster.
+     */
+    private final int[] forward;
+
+    /**
+     * Step weights from inner neighbors of connected cluster.
+     */
+    private final int[] backward;
+
+    /**
+     * Connect stamp of each cell, whose local index only holds if stamped by
+     * current connection.
+     */
+    private int[] stamps = new int[0];
+
+    /**
+     * Local index of each cell stamped by current connection.
+     */
+    private int[] locals = new int[0];
+
+    /**
+     * Current connect stamp.
+     */
+    private int stamp = 0;
+
+    /**
+     * Row of each local index, sparing divisions while connecting.
+     */
+    private final int[] localRows;
+
+    /**
+     * Column of each local index, sparing divisions while connecting.
+     */
+    private final int[] localColumns;
+
+    /**
+     * Neighbor buffer.
+     */
+    private final int[] neighbors = new int[GridGraph.DEGREE];
+
+    /**
+     * Entrance cells buffer of cluster being built.
+     */
+    private final int[] entrances;
+
+    /**
+     * Entrance cells buffer count.
+     */
+    private int count;
+
+    /**
+     * Transitions buffer of cluster being built.
+     */
+    private final int[] transitions;
+
+    /**
+     * Transitions buffer length.
+     */
+    private int length;
+
+    /**
+     * Create new cluster abstraction of given graph.
+     *
+     * @param graph GridGraph
+     * @param size  int
+     */
+    public ClusterGraph(final GridGraph graph, final int size) {
+        this.graph = graph;
+        this.size = size;
+        frontier = new BinaryHeap(size * size);
+        local = new int[size * size];
+        trail = new int[size * size];
+        cells = new int[size * size];
+        degree = new int[size * size];
+        adjacent = new int[size * size * GridGraph.DEGREE];
+        forward = new int[size * size * GridGraph.DEGREE];
+        backward = new int[size * size * GridGraph.DEGREE];
+        localRows = new int[size * size];
+        localColumns = new int[size * size];
+        for (int l = 0; l < size * size; l++) {
+            localRows[l] = l / size;
+            localColumns[l] = l % size;
+        }
+        // Entrances lie on the perimeter, crossing at most once per side and diagonal
+        entrances = new int[4 * size];
+        transitions = new int[3 * 8 * 4 * size];
+        layout();
+    }
+
+    /**
+     * Create new cluster abstraction of given graph with default cluster side.
+     *
+     * @param graph GridGraph
+     */
+    public ClusterGraph(final GridGraph graph) {
+        this(graph, SIZE);
+    }
+
+    /**
+     * Fit cluster dimension to graph and mark every cluster for rebuild.
+     */
+    private final void layout() {
+        version = graph.getVersion();
+        rows = (graph.getRows() + size - 1) / size;
+        columns = (graph.getColumns() + size - 1) / size;
+        nodes = new int[rows * columns][];
+        weights = new int[rows * columns][];
+        links = new int[rows * columns][];
+        paths = new int[rows * columns][][];
+        dirty.set(0, rows * columns);
+        if (stamps.length != graph.size()) {
+            stamps = new int[graph.size()];
+            locals = new int[graph.size()];
+            stamp = 0;
+        }
+    }
+
+    /**
+     * Mark clusters around changed cell for rebuild.
+     *
+     * @param i int
+     */
+    private final void invalidate(final int i) {
+        final int row = graph.row(i);
+        final int col = graph.column(i);
+        // Neighbouring clusters share entrances with border cells
+        for (int dr = -1; dr <= 1; dr++)
+            for (int dc = -1; dc <= 1; dc++) {
+                final int j = graph.index(row + dr, col + dc);
+                if (j != -1)
+                    dirty.set(cluster(j));
+            }
+    }
+
+    /**
+     * Synchronize abstraction with graph changes, rebuilding dirty clusters.
+     */
+    public final void refresh() {
+        if (!graph.replay(version, this::invalidate))
+            layout();
+        version = graph.getVersion();
+        for (int k = dirty.nextSetBit(0); k != -1; k = dirty.nextSetBit(k + 1))
+            build(k);
+        dirty.clear();
+    }
+
+    /**
+     * Return cluster of cell.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int cluster(final int i) {
+        return graph.row(i) / size * columns + graph.column(i) / size;
+    }
+
+    /**
+     * Return entrance cells of cluster.
+     *
+     * @param k int
+     * @return int[]
+     */
+    public final int[] getNodes(final int k) {
+        return nodes[k];
+    }
+
+    /**
+     * Return entrance slot of cell in its cluster, or -1.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int slot(final int i) {
+        final int[] nodes = this.nodes[cluster(i)];
+        for (int s = 0; s < nodes.length; s++)
+            if (nodes[s] == i)
+                return s;
+        return -1;
+    }
+
+    /**
+     * Return inner weight between entrance slots of cluster, or
+     * <code>Integer.MAX_VALUE</code> if disconnected inside it.
+     *
+     * @param k    int
+     * @param from int
+     * @param to   int
+     * @return int
+     */
+    public final int weight(final int k, final int from, final int to) {
+        return weights[k][from * nodes[k].length + to];
+    }
+
+    /**
+     * Return flattened (entrance slot, outer cell, weight) transitions of cluster.
+     *
+     * @param k int
+     * @return int[]
+     */
+    public final int[] getLinks(final int k) {
+        return links[k];
+    }
+
+    /**
+     * Return inner weights from cell, or to cell if reversed, for every entrance
+     * of its cluster.
+     *
+     * @param i       int
+     * @param reverse boolean
+     * @return int[]
+     */
+    public final int[] reach(final int i, final boolean reverse) {
+        final int k = cluster(i);
+        connect(k);
+        search(locals[i], -1, reverse);
+        final int[] reach = new int[nodes[k].length];
+        for (int s = 0; s < reach.length; s++)
+            reach[s] = local[locals[nodes[k][s]]];
+        return reach;
+    }
+
+    /**
+     * Link cells along inner minimum weight path between cells of same cluster.
+     *
+     * @param from   int
+     * @param to     int
+     * @param parent int[]
+     */
+    public final void refine(final int from, final int to, final int[] parent) {
+        final int k = cluster(from);
+        final int s = slot(from);
+        final int t = slot(to);
+        // Only paths between entrances recur across searches
+        final int pair = s == -1 || t == -1 ? -1 : s * nodes[k].length + t;
+        int[] path = pair == -1 ? null : paths[k][pair];
+        if (path == null) {
+            connect(k);
+            search(locals[from], locals[to], false);
+            int length = 1;
+            for (int l = locals[to]; l != locals[from]; l = trail[l])
+                length++;
+            path = new int[length];
+            path[0] = to;
+            for (int j = 1, l = locals[to]; j < length; j++) {
+                l = trail[l];
+                path[j] = cells[l];
+            }
+            if (pair != -1)
+                paths[k][pair] = path;
+        }
+        for (int j = 1; j < path.length; j++)
+            parent[path[j - 1]] = path[j];
+    }
+
+    /**
+     * Load walkable inner adjacency of cluster into local tables, stamping
+     * local index of its cells.
+     *
+     * @param k int
+     */
+    private final void connect(final int k) {
+        final int r0 = k / columns * size;
+        final int c0 = k % columns * size;
+        final int r1 = Math.min(r0 + size, graph.getRows());
+        final int c1 = Math.min(c0 + size, graph.getColumns());
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        Arrays.fill(cells, -1);
+        for (int row = r0; row < r1; row++)
+            for (int col = c0; col < c1; col++) {
+                final int l = (row - r0) * size + col - c0;
+                final int i = graph.index(row, col);
+                cells[l] = i;
+                stamps[i] = stamp;
+                locals[i] = l;
+            }
+        for (int l = 0; l < cells.length; l++) {
+            final int node = cells[l];
+            degree[l] = 0;
+            if (node == -1 || !graph.isWalkable(node))
+                continue;
+            for (int n = graph.neighbors(node, neighbors), j = 0; j < n; j++) {
+                final int child = neighbors[j];
+                // Ignore if not walkable or outside cluster
+                if (!graph.isWalkable(child) || stamps[child] != stamp)
+                    continue;
+                final int m = locals[child];
+                final int step = localRows[m] != localRows[l] && localColumns[m] != localColumns[l]
+                        ? GridGraph.DIAGONAL
+                        : GridGraph.ORTHOGONAL;
+                final int slot = l * GridGraph.DEGREE + degree[l]++;
+                adjacent[slot] = m;
+                forward[slot] = graph.getCost(child) * step;
+                backward[slot] = graph.getCost(node) * step;
+            }
+        }
+    }
+
+    /**
+     * Run Dijkstra over connected cluster from local index, until target settles
+     * if any.
+     *
+     * @param from    int
+     * @param to      int
+     * @param reverse boolean
+     */
+    private final void search(final int from, final int to, final boolean reverse) {
+        final int[] weights = reverse ? backward : forward;
+        Arrays.fill(local, Integer.MAX_VALUE);
+        local[from] = 0;
+        frontier.push(from, 0);
+        while (!frontier.isEmpty()) {
+            final int key = frontier.peekKey();
+            final int node = frontier.poll();
+            if (node == to)
+                break;
+            for (int slot = node * GridGraph.DEGREE, end = slot + degree[node]; slot < end; slot++) {
+                final int child = adjacent[slot];
+                final int alt = key + weights[slot];
+                if (alt >= local[child])
+                    continue;
+                local[child] = alt;
+                trail[child] = node;
+                frontier.push(child, alt);
+            }
+        }
+        // Drain early exit leftovers
+        while (!frontier.isEmpty())
+            frontier.poll();
+    }
+
+    /**
+     * Return whether cell is walkable, false if out of bounds.
+     *
+     * @param row int
+     * @param col int
+     * @return boolean
+     */
+    private final boolean open(final int row, final int col) {
+        final int i = graph.index(row, col);
+        return i != -1 && graph.isWalkable(i);
+    }
+
+    /**
+     * Recompute entrances and inner weights of cluster.
+     *
+     * @param k int
+     */
+    private final void build(final int k) {
+        final int r0 = k / columns * size;
+        final int c0 = k % columns * size;
+        final int r1 = Math.min(r0 + size, graph.getRows());
+        final int c1 = Math.min(c0 + size, graph.getColumns());
+        count = 0;
+        length = 0;
+        // Range through top, bottom, left and right sides
+        for (int side = 0; side < 4; side++) {
+            final boolean horizontal = side < 2;
+            final int fixed = side == 0 ? r0 : side == 1 ? r1 - 1 : side == 2 ? c0 : c1 - 1;
+            final int step = side == 0 || side == 2 ? -1 : 1;
+            final int from = horizontal ? c0 : r0;
+            final int to = horizontal ? c1 : r1;
+            int start = -1;
+            for (int p = from; p <= to; p++) {
+                boolean open = false;
+                if (p < to) {
+                    final int own = horizontal ? graph.index(fixed, p) : graph.index(p, fixed);
+                    final int out = horizontal ? graph.index(fixed + step, p) : graph.index(p, fixed + step);
+                    open = out != -1 && cluster(out) != k && graph.isWalkable(own) && graph.isWalkable(out);
+                }
+                if (open && start == -1)
+                    start = p;
+                if (open || start == -1)
+                    continue;
+                // Place transitions on closed run, identically from both sides
+                final int end = p - 1;
+                final int[] at = end - start + 1 < SPLIT
+                        ? new int[] { (start + end) >>> 1 }
+                        : new int[] { start, end };
+                for (final int q : at)
+                    if (horizontal)
+                        transit(graph.index(fixed, q), graph.index(fixed + step, q));
+                    else
+                        transit(graph.index(q, fixed), graph.index(q, fixed + step));
+                start = -1;
+            }
+        }
+        // Diagonal crossings need own transitions only if both corners are blocked
+        if (graph.isEdged())
+            for (int row = r0; row < r1; row++)
+                for (int col = c0; col < c1; col++) {
+                    if (row != r0 && row != r1 - 1 && col != c0 && col != c1 - 1)
+                        continue;
+                    final int own = graph.index(row, col);
+                    if (!graph.isWalkable(own))
+                        continue;
+                    for (int dr = -1; dr <= 1; dr += 2)
+                        for (int dc = -1; dc <= 1; dc += 2) {
+                            final int out = graph.index(row + dr, col + dc);
+                            if (out == -1 || cluster(out) == k || !graph.isWalkable(out)
+                                    || open(row + dr, col) || open(row, col + dc))
+                                continue;
+                            transit(own, out);
+                        }
+                }
+        // Connect every entrance pair inside cluster
+        final int[] weights = new int[count * count];
+        connect(k);
+        for (int s = 0; s < count; s++) {
+            search(locals[entrances[s]], -1, false);
+            for (int t = 0; t < count; t++)
+                weights[s * count + t] = local[locals[entrances[t]]];
+        }
+        nodes[k] = Arrays.copyOf(entrances, count);
+        this.weights[k] = weights;
+        links[k] = Arrays.copyOf(transitions, length);
+        paths[k] = new int[count * count][];
+    }
+
+    /**
+     * Buffer transition from own entrance cell to outer cell.
+     *
+     * @param own int
+     * @param out int
+     */
+    private final void transit(final int own, final int out) {
+        int s = 0;
+        while (s < count && entrances[s] != own)
+            s++;
+        if (s == count)
+            entrances[count++] = own;
+        transitions[length++] = s;
+        transitions[length++] = out;
+        transitions[length++] = graph.weight(own, out);
+    }
+
+    /**
+     * Return abstracted grid graph.
+     *
+     * @return GridGraph
+     */
+    public final GridGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format("ClusterGraph [rows: %d, columns: %d, size: %d]", rows, columns, size);
+    }
+
+}
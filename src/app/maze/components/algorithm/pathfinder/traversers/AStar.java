@@ -1,29 +1,33 @@
 package app.maze.components.algorithm.pathfinder.traversers;
 
-import java.security.spec.AlgorithmParameterSpec;
-import java.util.Set;
-
-import javax.swing.tree.MutableTreeNode;
-import javax.swing.tree.TreeNode;
-
-import app.maze.components.algorithm.pathfinder.PathFinder;
 import app.maze.components.algorithm.pathfinder.heuristics.Heuristic;
 
-public class AStar extends PathFinder {
+public class AStar extends Dijkstra {
 
     private static final long serialVersionUID = 1L;
 
-    private final Heuristic heuristic = new Heuristic.EuclideanDistance();
+    /**
+     * Fixed heuristic, picked from graph topology if null.
+     */
+    private Heuristic heuristic = null;
 
     @Override
-    protected final TreeNode advance(final Set<MutableTreeNode> currGen)
-            throws StackOverflowError, InterruptedException {
-        return null;
+    protected final int estimate(final int node, final int goal) {
+        if (goal == -1)
+            return 0;
+        // Estimate towards nearest of every target
+        return goal == target ? fit(getParameterSpec(), node) : getParameterSpec().fit(graph, node, goal);
+    }
+
+    public final void setHeuristic(final Heuristic heuristic) {
+        this.heuristic = heuristic;
     }
 
     @Override
-    public final AlgorithmParameterSpec getParameterSpec() {
-        return this.heuristic;
+    public final Heuristic getParameterSpec() {
+        if (heuristic != null || graph == null)
+            return heuristic;
+        return Heuristic.of(graph);
     }
 
 }
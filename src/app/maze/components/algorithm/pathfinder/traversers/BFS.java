@@ -1,21 +1,323 @@
 package app.maze.components.algorithm.pathfinder.traversers;
 
 import java.security.spec.AlgorithmParameterSpec;
-import java.util.Set;
-
-import javax.swing.tree.MutableTreeNode;
-import javax.swing.tree.TreeNode;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.grid.GridGraph;
 
 public class BFS extends PathFinder {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Minimum graph size flooded in parallel.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * Generation slice expanded by a single worker.
+     */
+    private static final int GRAIN = 1 << 11;
+
     @Override
-    protected final TreeNode advance(final Set<MutableTreeNode> currGen)
-            throws StackOverflowError, InterruptedException {
-        return null;
+    protected final int advance(final int root) throws InterruptedException {
+        // Check root endpoint, since generations only check children
+        if (isGoal(root)) {
+            visited.set(root);
+            dist[root] = 0;
+            // Fire reached PathFinderEvent
+            fireNodeReached(new TraverserEvent(this, root));
+            return root;
+        }
+        if (bidirectional && target != -1 && target != root && goals.length == 0)
+            return meet(root);
+        if (graph.size() >= PARALLEL)
+            return spread(root);
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        // Initialize first generation
+        int[] currGen = new int[] { root };
+        visited.set(root);
+        dist[root] = 0;
+        while (currGen.length != 0) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, currGen));
+            // Initialize new empty generation
+            int[] newGen = new int[Math.max(currGen.length * 2, GridGraph.DEGREE)];
+            int size = 0;
+            // Range through current generaton nodes cell neighbors
+            for (final int node : currGen)
+                for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                    final int child = neighbors[i];
+                    // Ignore if not walkable or visited
+                    if (!graph.isWalkable(child) || visited.get(child))
+                        continue;
+                    visited.set(child);
+                    parent[child] = node;
+                    dist[child] = dist[node] + 1;
+                    // Check endpoint
+                    if (isGoal(child)) {
+                        // Fire reached PathFinderEvent
+                        fireNodeReached(new TraverserEvent(this, Arrays.copyOf(newGen, size)));
+                        return child;
+                    }
+                    if (size == newGen.length)
+                        newGen = Arrays.copyOf(newGen, size * 2);
+                    newGen[size++] = child;
+                    // Fire germinated PathFinderEvent
+                    fireNodeGerminated(new TraverserEvent(this, child));
+                }
+            // Delay iteration
+            Thread.sleep(delay);
+            currGen = Arrays.copyOf(newGen, size);
+        }
+        return -1;
+    }
+
+    /**
+     * Grow generations from both endpoints, expanding the smaller one, until
+     * they touch, and return target.
+     *
+     * @param root int
+     * @return int
+     * @throws InterruptedException if (!running)
+     */
+    private final int meet(final int root) throws InterruptedException {
+        final int size = graph.size();
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        // Index 0 grows from root, index 1 from target
+        final int[][] gen = { { root }, { target } };
+        final int[][] depth = { dist, new int[size] };
+        final int[][] prev = { parent, new int[size] };
+        final BitSet[] seen = { visited, new BitSet(size) };
+        Arrays.fill(prev[1], -1);
+        seen[0].set(root);
+        seen[1].set(target);
+        dist[root] = 0;
+        depth[1][target] = 0;
+        while (gen[0].length != 0 && gen[1].length != 0) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            // Expand smaller generation
+            final int s = gen[0].length <= gen[1].length ? 0 : 1;
+            final int[] currGen = gen[s];
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, currGen));
+            // Initialize new empty generation
+            int[] newGen = new int[Math.max(currGen.length * 2, GridGraph.DEGREE)];
+            int count = 0;
+            int best = Integer.MAX_VALUE;
+            int near = -1;
+            int far = -1;
+            // Range through current generaton nodes cell neighbors
+            for (final int node : currGen)
+                for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                    final int child = neighbors[i];
+                    // Ignore if not walkable
+                    if (!graph.isWalkable(child))
+                        continue;
+                    // Keep shortest meeting edge of whole generation
+                    if (seen[1 - s].get(child) && depth[s][node] + 1 + depth[1 - s][child] < best) {
+                        best = depth[s][node] + 1 + depth[1 - s][child];
+                        near = node;
+                        far = child;
+                    }
+                    // Ignore if visited
+                    if (seen[s].get(child))
+                        continue;
+                    seen[s].set(child);
+                    prev[s][child] = node;
+                    depth[s][child] = depth[s][node] + 1;
+                    if (count == newGen.length)
+                        newGen = Arrays.copyOf(newGen, count * 2);
+                    newGen[count++] = child;
+                    // Fire germinated PathFinderEvent
+                    fireNodeGerminated(new TraverserEvent(this, child));
+                }
+            if (best != Integer.MAX_VALUE) {
+                // Link meeting edge from root side to target side
+                final int forward = s == 0 ? near : far;
+                final int backward = s == 0 ? far : near;
+                parent[backward] = forward;
+                join(backward, prev[1]);
+                // Fire reached PathFinderEvent
+                fireNodeReached(new TraverserEvent(this, target));
+                return target;
+            }
+            // Delay iteration
+            Thread.sleep(delay);
+            gen[s] = Arrays.copyOf(newGen, count);
+        }
+        return -1;
+    }
+
+    /**
+     * Grow generations from root, splitting each one across fork join workers,
+     * and return target. Cells are claimed on an atomic visited bitmap, so each
+     * one gets a single parent, and workers fill their own slice of the new
+     * generation, joined once it is complete.
+     *
+     * @param root int
+     * @return int
+     * @throws InterruptedException if (!running)
+     */
+    private final int spread(final int root) throws InterruptedException {
+        final AtomicLongArray claimed = new AtomicLongArray((graph.size() + Long.SIZE - 1) >>> 6);
+        // Initialize first generation
+        int[] currGen = new int[] { root };
+        claim(claimed, root);
+        dist[root] = 0;
+        while (currGen.length != 0) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, currGen));
+            // Expand current generation, inline if it fits a single slice
+            final int slices = (currGen.length + GRAIN - 1) / GRAIN;
+            final Expansion expansion = new Expansion(claimed, currGen, new int[slices][], new int[slices], 0,
+                    currGen.length);
+            expansion.invoke();
+            // Join worker slices into new generation
+            int size = 0;
+            for (final int count : expansion.counts)
+                size += count;
+            final int[] newGen = new int[size];
+            for (int s = 0, offset = 0; s < slices; offset += expansion.counts[s++])
+                System.arraycopy(expansion.slices[s], 0, newGen, offset, expansion.counts[s]);
+            // Fire germinated PathFinderEvent
+            fireNodeGerminated(new TraverserEvent(this, newGen));
+            // Check endpoints
+            final int reached = reached(claimed);
+            if (reached != -1) {
+                // Fire reached PathFinderEvent
+                fireNodeReached(new TraverserEvent(this, newGen));
+                return reached;
+            }
+            // Delay iteration
+            Thread.sleep(delay);
+            currGen = newGen;
+        }
+        return -1;
+    }
+
+    /**
+     * Return first claimed target, or -1 if none.
+     *
+     * @param claimed AtomicLongArray
+     * @return int
+     */
+    private final int reached(final AtomicLongArray claimed) {
+        if (target == -1)
+            return -1;
+        if ((claimed.get(target >>> 6) & 1L << target) != 0)
+            return target;
+        for (final int goal : goals)
+            if ((claimed.get(goal >>> 6) & 1L << goal) != 0)
+                return goal;
+        return -1;
+    }
+
+    /**
+     * Claim cell on visited bitmap and return whether it was unclaimed.
+     *
+     * @param claimed AtomicLongArray
+     * @param i       int
+     * @return boolean
+     */
+    private static final boolean claim(final AtomicLongArray claimed, final int i) {
+        final int word = i >>> 6;
+        final long mask = 1L << i;
+        long old;
+        do {
+            old = claimed.get(word);
+            if ((old & mask) != 0)
+                return false;
+        } while (!claimed.compareAndSet(word, old, old | mask));
+        return true;
+    }
+
+    /**
+     * Fork join expansion of a generation range, split into slices of
+     * <code>GRAIN</code> cells, each one filling its own new generation buffer.
+     */
+    private final class Expansion extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicLongArray claimed;
+
+        private final int[] currGen;
+
+        /**
+         * New generation buffer of each slice.
+         */
+        private final int[][] slices;
+
+        /**
+         * New generation size of each slice.
+         */
+        private final int[] counts;
+
+        private final int from;
+
+        private final int to;
+
+        private Expansion(final AtomicLongArray claimed, final int[] currGen, final int[][] slices,
+                final int[] counts, final int from, final int to) {
+            this.claimed = claimed;
+            this.currGen = currGen;
+            this.slices = slices;
+            this.counts = counts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected final void compute() {
+            if (to - from > GRAIN) {
+                // Split on slice boundary
+                final int mid = from + (to - from + GRAIN - 1) / GRAIN / 2 * GRAIN;
+                invokeAll(new Expansion(claimed, currGen, slices, counts, from, mid),
+                        new Expansion(claimed, currGen, slices, counts, mid, to));
+                return;
+            }
+            final int[] neighbors = new int[GridGraph.DEGREE];
+            int[] newGen = new int[Math.max((to - from) * 2, GridGraph.DEGREE)];
+            int size = 0;
+            // Range through slice nodes cell neighbors
+            for (int k = from; k < to; k++) {
+                final int node = currGen[k];
+                for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                    final int child = neighbors[i];
+                    // Ignore if not walkable or claimed by any worker
+                    if (!graph.isWalkable(child) || !claim(claimed, child))
+                        continue;
+                    parent[child] = node;
+                    dist[child] = dist[node] + 1;
+                    if (size == newGen.length)
+                        newGen = Arrays.copyOf(newGen, size * 2);
+                    newGen[size++] = child;
+                }
+            }
+            slices[from / GRAIN] = newGen;
+            counts[from / GRAIN] = size;
+        }
+
     }
 
     @Override
@@ -0,0 +1,284 @@
+package app.maze.components.algorithm.pathfinder.traversers;
+
+import java.util.Arrays;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.pathfinder.Incremental;
+import app.maze.components.algorithm.pathfinder.frontiers.BinaryHeap;
+import app.maze.components.grid.GridGraph;
+import utils.JWrapper;
+
+/**
+ * D* Lite pathfinder, extending
+ * <code>app.maze.components.algorithm.pathfinder.traversers.AStar</code> and
+ * implementing <code>app.maze.components.algorithm.pathfinder.Incremental</code>.
+ * Searches backwards from target and keeps its search state between runs, so
+ * cells changed since last run only repair the affected part of it. Falls back
+ * to plain A* if there is no target, or there are many of them.
+ *
+ * @see app.maze.components.algorithm.pathfinder.traversers.AStar AStar
+ * @see app.maze.components.algorithm.pathfinder.Incremental Incremental
+ */
+public class DStarLite extends AStar implements Incremental {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Graph of kept search state.
+     */
+    private transient GridGraph planned = null;
+
+    /**
+     * Graph version of kept search state.
+     */
+    private transient int version;
+
+    /**
+     * Target of kept search state.
+     */
+    private transient int goal = -1;
+
+    /**
+     * Start at last key modifier update.
+     */
+    private transient int last = -1;
+
+    /**
+     * Key modifier, accumulating start moves.
+     */
+    private transient int modifier = 0;
+
+    /**
+     * Repair in progress, run without delays.
+     */
+    private transient boolean repairing = false;
+
+    /**
+     * Weight to target.
+     */
+    private transient int[] g = null;
+
+    /**
+     * One step lookahead weight to target.
+     */
+    private transient int[] rhs = null;
+
+    /**
+     * Inconsistent cells.
+     */
+    private transient BinaryHeap open;
+
+    /**
+     * Predecessor buffer.
+     */
+    private transient int[] neighbors;
+
+    /**
+     * Successor buffer.
+     */
+    private transient int[] successors;
+
+    /**
+     * Reset search state to a single consistent target.
+     */
+    private final void plan() {
+        final int size = graph.size();
+        planned = graph;
+        goal = target;
+        last = root;
+        modifier = 0;
+        g = new int[size];
+        rhs = new int[size];
+        open = new BinaryHeap(size);
+        neighbors = new int[GridGraph.DEGREE];
+        successors = new int[GridGraph.DEGREE];
+        Arrays.fill(g, Integer.MAX_VALUE);
+        Arrays.fill(rhs, Integer.MAX_VALUE);
+        rhs[goal] = 0;
+        open.push(goal, (int) key(goal), tie(goal));
+    }
+
+    /**
+     * Return cell priority, first component of the D* Lite key.
+     *
+     * @param node int
+     * @return long
+     */
+    private final long key(final int node) {
+        final int min = Math.min(g[node], rhs[node]);
+        return min == Integer.MAX_VALUE ? Long.MAX_VALUE : (long) min + estimate(node, root) + modifier;
+    }
+
+    /**
+     * Return cell tie-break, second component of the D* Lite key.
+     *
+     * @param node int
+     * @return int
+     */
+    private final int tie(final int node) {
+        return Math.min(g[node], rhs[node]);
+    }
+
+    /**
+     * Return whether first D* Lite key orders before second one.
+     *
+     * @param key  long
+     * @param tie  int
+     * @param than long
+     * @param tied int
+     * @return boolean
+     */
+    private static final boolean below(final long key, final int tie, final long than, final int tied) {
+        return key < than || key == than && tie < tied;
+    }
+
+    /**
+     * Recompute lookahead weight of cell and requeue it if inconsistent.
+     *
+     * @param node int
+     */
+    private final void update(final int node) {
+        if (node != goal) {
+            long best = Integer.MAX_VALUE;
+            if (graph.isWalkable(node))
+                for (int i = 0, n = graph.neighbors(node, successors); i < n; i++) {
+                    final int child = successors[i];
+                    if (graph.isWalkable(child) && g[child] != Integer.MAX_VALUE)
+                        best = Math.min(best, (long) graph.weight(node, child) + g[child]);
+                }
+            rhs[node] = (int) best;
+        }
+        final boolean queued = open.contains(node);
+        open.remove(node);
+        if (g[node] == rhs[node])
+            return;
+        // Fire germinated PathFinderEvent
+        if (!queued)
+            fireNodeGerminated(new TraverserEvent(this, node));
+        open.push(node, (int) key(node), tie(node));
+    }
+
+    /**
+     * Update cell and every cell stepping into it.
+     *
+     * @param node int
+     */
+    private final void touch(final int node) {
+        update(node);
+        for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++)
+            update(neighbors[i]);
+    }
+
+    /**
+     * Process inconsistent cells until start is consistent and no queued cell
+     * can improve it.
+     *
+     * @param animate boolean
+     * @throws InterruptedException if (!running)
+     */
+    private final void compute(final boolean animate) throws InterruptedException {
+        int level = 0;
+        while (!open.isEmpty() && (below(open.peekKey(), open.peekTie(), key(root), tie(root)) || rhs[root] != g[root])) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            final int old = open.peekKey();
+            final int tied = open.peekTie();
+            final int node = open.poll();
+            final long key = key(node);
+            final int tie = tie(node);
+            // Requeue if start moved since insertion
+            if (below(old, tied, key, tie)) {
+                open.push(node, (int) key, tie);
+                continue;
+            }
+            visited.set(node);
+            // Delay iteration once per key level, unless repairing
+            if (animate && old > level) {
+                level = old;
+                Thread.sleep(delay);
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, node));
+            if (g[node] > rhs[node])
+                g[node] = rhs[node];
+            else {
+                g[node] = Integer.MAX_VALUE;
+                update(node);
+            }
+            for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++)
+                update(neighbors[i]);
+        }
+    }
+
+    @Override
+    protected final int advance(final int root) throws InterruptedException {
+        if (target == -1 || goals.length != 0)
+            return super.advance(root);
+        // Plan from scratch unless every change since last run is journaled
+        boolean fresh = planned != graph || goal != target || g.length != graph.size();
+        if (!fresh) {
+            // Move start before repairing changed cells
+            if (last != root) {
+                modifier += estimate(last, root);
+                last = root;
+            }
+            fresh = !graph.replay(version, this::touch);
+        }
+        if (fresh)
+            plan();
+        version = graph.getVersion();
+        // IMPORTANT: Repairs follow every cell edit, so even fresh plans skip delays there
+        compute(fresh && !repairing);
+        if (g[root] == Integer.MAX_VALUE)
+            return -1;
+        // Descend weights to target
+        for (int node = root, steps = 0; node != target; steps++) {
+            int next = -1;
+            long best = Long.MAX_VALUE;
+            for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                final int child = neighbors[i];
+                if (!graph.isWalkable(child) || g[child] == Integer.MAX_VALUE)
+                    continue;
+                final long alt = (long) graph.weight(node, child) + g[child];
+                if (alt < best) {
+                    best = alt;
+                    next = child;
+                }
+            }
+            if (next == -1 || steps == graph.size())
+                return -1;
+            parent[next] = node;
+            node = next;
+        }
+        // Fire reached PathFinderEvent
+        fireNodeReached(new TraverserEvent(this, target));
+        return target;
+    }
+
+    @Override
+    public final boolean isPlanned() {
+        return g != null;
+    }
+
+    @Override
+    public final void replan(final GridGraph graph, final int start, final int target) {
+        try {
+            if (start == -1 || target == -1)
+                return;
+            setGraph(graph);
+            setRoot(start);
+            setTarget(target);
+            // Run on calling thread without delays, fresh plans included
+            repairing = true;
+            run();
+        } catch (final InterruptedException e) {
+            JWrapper.dispatchException(e);
+        } finally {
+            repairing = false;
+        }
+    }
+
+}
@@ -1,61 +1,162 @@
 package app.maze.components.algorithm.pathfinder.traversers;
 
 import java.security.spec.AlgorithmParameterSpec;
-import java.util.HashSet;
-import java.util.Set;
-
-import javax.swing.tree.MutableTreeNode;
+import java.util.Arrays;
+import java.util.BitSet;
 
 import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.algorithm.pathfinder.frontiers.Frontier;
+import app.maze.components.grid.GridGraph;
 
 public class Dijkstra extends PathFinder {
 
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Estimate remaining weight to goal.
+     *
+     * @param node int
+     * @param goal int
+     * @return int
+     */
+    protected int estimate(final int node, final int goal) {
+        return 0;
+    }
+
     @Override
-    protected final MutableTreeNode advance(final Set<MutableTreeNode> currGen) throws StackOverflowError, InterruptedException {
-        // Check for waiting state
-        assertWaiting();
-        // Check for running state
-        if (!running)
-            throw new InterruptedException("Invokation interrupted...");
-        // Fire visited PathFinderEvent
-        fireNodeVisited(new TraverserEvent(this, currGen.toArray(new MutableTreeNode[0])));
-        // Initialize new empty generation
-        final Set<MutableTreeNode> newGen = new HashSet<MutableTreeNode>(0);
-        // Range through current generaton nodes cell neighbors
-        for (final MutableTreeNode node : currGen)
-            for (int i = 0; i < node.getChildCount(); i++) {
-                final MutableTreeNode child = (MutableTreeNode) node.getChildAt(i);
-                // Check endpoint
-                if (child.equals(target)) {
-                    child.setParent(node);
-                    // Fire reached PathFinderEvent
-                    fireNodeReached(new TraverserEvent(this, newGen.toArray(new MutableTreeNode[0])));
-                    return child;
-                }
-                // Check visited
-                if (!visited.contains(child)) {
-                    newGen.add(child);
-                    child.setParent(node);
-                    visited.add(child);
-                    // Fire germinated PathFinderEvent
+    protected int advance(final int root) throws InterruptedException {
+        if (bidirectional && target != -1 && target != root && goals.length == 0)
+            return meet(root);
+        // Initialize frontier
+        final Frontier frontier = newFrontier();
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        dist[root] = 0;
+        frontier.push(root, estimate(root, target));
+        int level = 0;
+        while (!frontier.isEmpty()) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            final int key = frontier.peekKey();
+            final int node = frontier.poll();
+            visited.set(node);
+            // Delay iteration once per key level
+            if (key > level) {
+                level = key;
+                Thread.sleep(delay);
+            }
+            // Check endpoint
+            if (isGoal(node)) {
+                // Fire reached PathFinderEvent
+                fireNodeReached(new TraverserEvent(this, node));
+                return node;
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, node));
+            // Range through cell neighbors
+            for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                final int child = neighbors[i];
+                // Ignore if not walkable or settled
+                if (!graph.isWalkable(child) || visited.get(child))
+                    continue;
+                final int alt = dist[node] + graph.weight(node, child);
+                if (alt >= dist[child])
+                    continue;
+                // Fire germinated PathFinderEvent
+                if (!frontier.contains(child))
                     fireNodeGerminated(new TraverserEvent(this, child));
+                dist[child] = alt;
+                parent[child] = node;
+                frontier.push(child, alt + estimate(child, target));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Grow frontiers from both endpoints until their best meeting weight can no
+     * longer improve, and return target.
+     *
+     * @param root int
+     * @return int
+     * @throws InterruptedException if (!running)
+     */
+    private final int meet(final int root) throws InterruptedException {
+        final int size = graph.size();
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        // Index 0 grows from root, index 1 from target
+        final Frontier[] frontier = { newFrontier(), newFrontier() };
+        final int[][] g = { dist, new int[size] };
+        final int[][] prev = { parent, new int[size] };
+        final BitSet[] settled = { visited, new BitSet(size) };
+        final int[] goal = { target, root };
+        final int[] level = { 0, 0 };
+        final boolean informed = getParameterSpec() != null;
+        Arrays.fill(g[1], Integer.MAX_VALUE);
+        Arrays.fill(prev[1], -1);
+        g[0][root] = 0;
+        g[1][target] = 0;
+        frontier[0].push(root, estimate(root, target));
+        frontier[1].push(target, estimate(target, root));
+        long best = Long.MAX_VALUE;
+        int meet = -1;
+        while (!frontier[0].isEmpty() && !frontier[1].isEmpty()) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            // Expand smaller frontier
+            final int s = frontier[0].size() <= frontier[1].size() ? 0 : 1;
+            final int key = frontier[s].peekKey();
+            // Stop once no unsettled cell can improve best meeting
+            if (key >= best || (!informed && (long) frontier[0].peekKey() + frontier[1].peekKey() >= best))
+                break;
+            final int node = frontier[s].poll();
+            settled[s].set(node);
+            // Delay iteration once per key level
+            if (key > level[s]) {
+                level[s] = key;
+                Thread.sleep(delay);
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, node));
+            // Range through cell neighbors
+            for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                final int child = neighbors[i];
+                // Ignore if not walkable or settled
+                if (!graph.isWalkable(child) || settled[s].get(child))
+                    continue;
+                // Backward search walks edges in reverse
+                final int alt = g[s][node] + (s == 0 ? graph.weight(node, child) : graph.weight(child, node));
+                if (alt < g[s][child]) {
+                    // Fire germinated PathFinderEvent
+                    if (!frontier[s].contains(child) && g[1 - s][child] == Integer.MAX_VALUE)
+                        fireNodeGerminated(new TraverserEvent(this, child));
+                    g[s][child] = alt;
+                    prev[s][child] = node;
+                    frontier[s].push(child, alt + estimate(child, goal[s]));
+                }
+                // Update best meeting cell
+                if (g[1 - s][child] != Integer.MAX_VALUE && (long) g[s][child] + g[1 - s][child] < best) {
+                    best = (long) g[s][child] + g[1 - s][child];
+                    meet = child;
                 }
-                if (child.equals(root))
-                    child.setParent(null);
             }
-        if (newGen.size() == 0)
-            throw new StackOverflowError("No solution...");
-        // Delay iteration
-        Thread.sleep(delay);
-        // Call method recursively until convergence
-        return advance(newGen);
+        }
+        if (meet == -1)
+            return -1;
+        join(meet, prev[1]);
+        // Fire reached PathFinderEvent
+        fireNodeReached(new TraverserEvent(this, target));
+        return target;
     }
 
     @Override
-    public final AlgorithmParameterSpec getParameterSpec() {
+    public AlgorithmParameterSpec getParameterSpec() {
         return null;
     }
 
@@ -0,0 +1,199 @@
+package app.maze.components.algorithm.pathfinder.traversers;
+
+import java.util.Arrays;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.pathfinder.frontiers.BinaryHeap;
+import app.maze.components.algorithm.pathfinder.hierarchy.ClusterGraph;
+
+/**
+ * Hierarchical A* pathfinder, extending
+ * <code>app.maze.components.algorithm.pathfinder.traversers.AStar</code>. Only
+ * cluster entrances enter the frontier, and the abstract path is refined inside
+ * each cluster once the target is reached. Falls back to plain A* if both
+ * endpoints share a cluster, or if there are many targets.
+ *
+ * @see app.maze.components.algorithm.pathfinder.traversers.AStar AStar
+ * @see app.maze.components.algorithm.pathfinder.hierarchy.ClusterGraph ClusterGraph
+ */
+public class HPAStar extends AStar {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cluster abstraction, kept between searches over the same graph.
+     */
+    private transient ClusterGraph clusters = null;
+
+    /**
+     * Abstract frontier, kept between searches over the same graph size.
+     */
+    private transient BinaryHeap frontier = null;
+
+    /**
+     * Search stamp of each cell, whose weight only holds if stamped by current
+     * search.
+     */
+    private transient int[] stamps = null;
+
+    /**
+     * Current search stamp.
+     */
+    private transient int stamp = 0;
+
+    @Override
+    protected final void reset() {
+        // IMPORTANT: Abstract searches touch few cells, so stamp them instead of filling buffers, while
+        // parents need no reset since paths only follow parents set by current search
+        if (stamps == null || stamps.length != graph.size()) {
+            super.reset();
+            stamps = new int[graph.size()];
+            stamp = 0;
+        } else
+            visited.clear();
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Return weight from root to cell in current search, or
+     * <code>Integer.MAX_VALUE</code> if unreached.
+     *
+     * @param i int
+     * @return int
+     */
+    private final int distance(final int i) {
+        return stamps[i] == stamp ? dist[i] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Set weight from root to cell in current search.
+     *
+     * @param i      int
+     * @param weight int
+     */
+    private final void distance(final int i, final int weight) {
+        stamps[i] = stamp;
+        dist[i] = weight;
+    }
+
+    /**
+     * Search whole grid, resetting every buffer first.
+     *
+     * @param root int
+     * @return int
+     * @throws InterruptedException if (!running)
+     */
+    private final int flat(final int root) throws InterruptedException {
+        super.reset();
+        return super.advance(root);
+    }
+
+    @Override
+    protected final int advance(final int root) throws InterruptedException {
+        if (target == -1 || target == root || goals.length != 0)
+            return flat(root);
+        // Rebuild clusters changed since last search only
+        if (clusters == null || clusters.getGraph() != graph)
+            clusters = new ClusterGraph(graph);
+        clusters.refresh();
+        final int goal = clusters.cluster(target);
+        if (clusters.cluster(root) == goal)
+            return flat(root);
+        // Connect endpoints to entrances of their clusters
+        final int[] head = clusters.reach(root, false);
+        final int[] tail = clusters.reach(target, true);
+        // Initialize frontier
+        if (frontier == null || frontier.capacity() != graph.size())
+            frontier = new BinaryHeap(graph.size());
+        frontier.clear();
+        distance(root, 0);
+        frontier.push(root, estimate(root, target));
+        int level = 0;
+        while (!frontier.isEmpty()) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            final int key = frontier.peekKey();
+            final int node = frontier.poll();
+            visited.set(node);
+            // Delay iteration once per key level
+            if (key > level && delay != 0) {
+                level = key;
+                Thread.sleep(delay);
+            }
+            // Check endpoint
+            if (node == target) {
+                unfold();
+                // Fire reached PathFinderEvent
+                fireNodeReached(new TraverserEvent(this, node));
+                return node;
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, node));
+            final int k = clusters.cluster(node);
+            final int s = clusters.slot(node);
+            final int[] nodes = clusters.getNodes(k);
+            if (node == root)
+                for (int t = 0; t < nodes.length; t++)
+                    relax(node, nodes[t], head[t]);
+            // Ignore if not an entrance
+            if (s == -1)
+                continue;
+            // Range through entrances of same cluster
+            for (int t = 0; t < nodes.length; t++)
+                relax(node, nodes[t], clusters.weight(k, s, t));
+            // Range through transitions to neighbouring clusters
+            final int[] links = clusters.getLinks(k);
+            for (int l = 0; l < links.length; l += 3)
+                if (links[l] == s)
+                    relax(node, links[l + 1], links[l + 2]);
+            if (k == goal)
+                relax(node, target, tail[s]);
+        }
+        return -1;
+    }
+
+    /**
+     * Relax abstract edge between cells.
+     *
+     * @param node   int
+     * @param child  int
+     * @param weight int
+     */
+    private final void relax(final int node, final int child, final int weight) {
+        // Ignore if disconnected or settled
+        if (weight == Integer.MAX_VALUE || visited.get(child))
+            return;
+        final int alt = distance(node) + weight;
+        if (alt >= distance(child))
+            return;
+        // Fire germinated PathFinderEvent
+        if (!frontier.contains(child))
+            fireNodeGerminated(new TraverserEvent(this, child));
+        distance(child, alt);
+        parent[child] = node;
+        frontier.push(child, alt + estimate(child, target));
+    }
+
+    /**
+     * Refine abstract path inside each cluster it crosses.
+     */
+    private final void unfold() {
+        int length = 0;
+        for (int i = target; i != root; i = parent[i])
+            length++;
+        // Store abstract path before refinement overrides it
+        final int[] path = new int[length + 1];
+        for (int i = target; length >= 0; i = parent[i])
+            path[length--] = i;
+        for (int j = 1; j < path.length; j++)
+            if (clusters.cluster(path[j - 1]) == clusters.cluster(path[j]))
+                clusters.refine(path[j - 1], path[j], parent);
+    }
+
+}
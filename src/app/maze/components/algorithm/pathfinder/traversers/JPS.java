@@ -0,0 +1,286 @@
+package app.maze.components.algorithm.pathfinder.traversers;
+
+import java.util.Arrays;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.algorithm.pathfinder.frontiers.BinaryHeap;
+import app.maze.components.algorithm.pathfinder.heuristics.Heuristic;
+
+/**
+ * Jump Point Search pathfinder, extending
+ * <code>app.maze.components.algorithm.pathfinder.PathFinder</code>. Only jump
+ * points enter the frontier, and the path between them is unfolded once the
+ * target is reached. Falls back to plain A* expansion on weighted graphs.
+ *
+ * @see app.maze.components.algorithm.pathfinder.PathFinder PathFinder
+ */
+public class JPS extends PathFinder {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Direction row offsets.
+     */
+    private static final int[] DR = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+    /**
+     * Direction column offsets.
+     */
+    private static final int[] DC = { -1, 0, 1, -1, 1, -1, 0, 1 };
+
+    /**
+     * Direction each cell was last reached from, -1 if none, kept between
+     * searches over the same graph size.
+     */
+    private transient byte[] direction = null;
+
+    /**
+     * Jump point frontier, kept between searches over the same graph size.
+     */
+    private transient BinaryHeap frontier = null;
+
+    /**
+     * Pruned successor directions buffer.
+     */
+    private transient int[] successors = null;
+
+    /**
+     * Whether graph has unit traversal costs.
+     */
+    private transient boolean uniform;
+
+    /**
+     * Return direction index of offsets.
+     *
+     * @param dr int
+     * @param dc int
+     * @return int
+     */
+    private static final int direction(final int dr, final int dc) {
+        return (dr + 1) * 3 + (dc + 1) - ((dr + 1) * 3 + (dc + 1) > 4 ? 1 : 0);
+    }
+
+    /**
+     * Return walkable cell index at coordinates, or -1.
+     *
+     * @param row int
+     * @param col int
+     * @return int
+     */
+    private final int walkable(final int row, final int col) {
+        final int i = graph.index(row, col);
+        return i != -1 && graph.isWalkable(i) ? i : -1;
+    }
+
+    /**
+     * Return whether coordinates are blocked or out of bounds.
+     *
+     * @param row int
+     * @param col int
+     * @return boolean
+     */
+    private final boolean blocked(final int row, final int col) {
+        return walkable(row, col) == -1;
+    }
+
+    /**
+     * Return whether cell has a forced neighbor when reached by given offsets.
+     *
+     * @param row int
+     * @param col int
+     * @param dr  int
+     * @param dc  int
+     * @return boolean
+     */
+    private final boolean forced(final int row, final int col, final int dr, final int dc) {
+        if (graph.isEdged()) {
+            if (dr != 0 && dc != 0)
+                return (blocked(row, col - dc) && !blocked(row + dr, col - dc))
+                        || (blocked(row - dr, col) && !blocked(row - dr, col + dc));
+            if (dr == 0)
+                return (blocked(row + 1, col) && !blocked(row + 1, col + dc))
+                        || (blocked(row - 1, col) && !blocked(row - 1, col + dc));
+            return (blocked(row, col + 1) && !blocked(row + dr, col + 1))
+                    || (blocked(row, col - 1) && !blocked(row + dr, col - 1));
+        }
+        // Vertical moves scan rows instead of forcing neighbors
+        if (dr != 0)
+            return false;
+        return (!blocked(row + 1, col) && blocked(row + 1, col - dc))
+                || (!blocked(row - 1, col) && blocked(row - 1, col - dc));
+    }
+
+    /**
+     * Jump from cell in given direction and return next jump point in the low
+     * word and its step count in the high one, or -1 if none.
+     *
+     * @param node int
+     * @param d    int
+     * @return long
+     */
+    private final long jump(final int node, final int d) {
+        final int dr = DR[d];
+        final int dc = DC[d];
+        final boolean diagonal = dr != 0 && dc != 0;
+        // Scan rows while moving vertically on a non edged graph
+        final boolean scan = diagonal || (!graph.isEdged() && dr != 0);
+        int row = graph.row(node);
+        int col = graph.column(node);
+        int count = 0;
+        // IMPORTANT: Bound jumps, since periodic graphs wrap around forever
+        while (count < graph.size()) {
+            row += dr;
+            col += dc;
+            final int next = walkable(row, col);
+            if (next == -1 || next == node)
+                return -1;
+            count++;
+            if (isGoal(next) || forced(row, col, dr, dc))
+                return (long) count << 32 | next;
+            if (scan) {
+                final boolean found = diagonal
+                        ? jump(next, direction(dr, 0)) != -1 || jump(next, direction(0, dc)) != -1
+                        : jump(next, direction(0, 1)) != -1 || jump(next, direction(0, -1)) != -1;
+                if (found)
+                    return (long) count << 32 | next;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Collect pruned successor directions of cell.
+     *
+     * @param node int
+     * @return int
+     */
+    private final int prune(final int node) {
+        final int d = direction[node];
+        int n = 0;
+        // Expand every direction on root or weighted graphs
+        if (d == -1 || !uniform) {
+            for (int k = 0; k < DR.length; k++)
+                if (graph.isEdged() || DR[k] == 0 || DC[k] == 0)
+                    successors[n++] = k;
+            return n;
+        }
+        final int row = graph.row(node);
+        final int col = graph.column(node);
+        final int dr = DR[d];
+        final int dc = DC[d];
+        successors[n++] = d;
+        if (graph.isEdged()) {
+            if (dr != 0 && dc != 0) {
+                successors[n++] = direction(dr, 0);
+                successors[n++] = direction(0, dc);
+                if (blocked(row, col - dc) && !blocked(row + dr, col - dc))
+                    successors[n++] = direction(dr, -dc);
+                if (blocked(row - dr, col) && !blocked(row - dr, col + dc))
+                    successors[n++] = direction(-dr, dc);
+            } else if (dr == 0) {
+                for (int s = -1; s <= 1; s += 2)
+                    if (blocked(row + s, col) && !blocked(row + s, col + dc))
+                        successors[n++] = direction(s, dc);
+            } else
+                for (int s = -1; s <= 1; s += 2)
+                    if (blocked(row, col + s) && !blocked(row + dr, col + s))
+                        successors[n++] = direction(dr, s);
+        } else if (dr != 0) {
+            successors[n++] = direction(0, 1);
+            successors[n++] = direction(0, -1);
+        } else
+            for (int s = -1; s <= 1; s += 2)
+                if (!blocked(row + s, col) && blocked(row + s, col - dc))
+                    successors[n++] = direction(s, 0);
+        return n;
+    }
+
+    /**
+     * Fill parent relationships of cells skipped between jump points.
+     *
+     * @param node int
+     */
+    private final void unfold(int node) {
+        while (node != root) {
+            final int p = parent[node];
+            final int d = direction[node];
+            for (int cur = node, prev; cur != p; cur = prev) {
+                prev = graph.index(graph.row(cur) - DR[d], graph.column(cur) - DC[d]);
+                parent[cur] = prev;
+            }
+            node = p;
+        }
+    }
+
+    @Override
+    protected final int advance(final int root) throws InterruptedException {
+        final Heuristic heuristic = getParameterSpec();
+        uniform = graph.isUniform();
+        // Initialize frontier
+        if (frontier == null || frontier.capacity() != graph.size()) {
+            frontier = new BinaryHeap(graph.size());
+            direction = new byte[graph.size()];
+            successors = new int[DR.length];
+        }
+        frontier.clear();
+        Arrays.fill(direction, (byte) -1);
+        dist[root] = 0;
+        frontier.push(root, fit(heuristic, root));
+        int level = 0;
+        while (!frontier.isEmpty()) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            final int key = frontier.peekKey();
+            final int node = frontier.poll();
+            visited.set(node);
+            // Delay iteration once per key level
+            if (key > level) {
+                level = key;
+                Thread.sleep(delay);
+            }
+            // Check endpoint
+            if (isGoal(node)) {
+                unfold(node);
+                // Fire reached PathFinderEvent
+                fireNodeReached(new TraverserEvent(this, node));
+                return node;
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, node));
+            // Range through pruned successor directions
+            for (int i = 0, n = prune(node); i < n; i++) {
+                final int d = successors[i];
+                // Weighted graphs step a single cell
+                final long jump = uniform
+                        ? jump(node, d)
+                        : 1L << 32 | walkable(graph.row(node) + DR[d], graph.column(node) + DC[d]) & 0xFFFFFFFFL;
+                final int child = (int) jump;
+                // Ignore if no jump point or settled
+                if (child == -1 || visited.get(child))
+                    continue;
+                final int alt = dist[node] + (int) (jump >>> 32) * graph.weight(node,
+                        graph.index(graph.row(node) + DR[d], graph.column(node) + DC[d]));
+                if (alt >= dist[child])
+                    continue;
+                // Fire germinated PathFinderEvent
+                if (!frontier.contains(child))
+                    fireNodeGerminated(new TraverserEvent(this, child));
+                dist[child] = alt;
+                parent[child] = node;
+                direction[child] = (byte) d;
+                frontier.push(child, alt + fit(heuristic, child));
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public final Heuristic getParameterSpec() {
+        return graph == null ? null : Heuristic.of(graph);
+    }
+
+}
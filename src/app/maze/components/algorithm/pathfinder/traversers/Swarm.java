@@ -0,0 +1,255 @@
+package app.maze.components.algorithm.pathfinder.traversers;
+
+import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
+import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.algorithm.pathfinder.field.FlowField;
+import app.maze.components.algorithm.pathfinder.frontiers.Frontier;
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Many agent flow field pathfinder, extending
+ * <code>app.maze.components.algorithm.pathfinder.PathFinder</code>. A single
+ * backward search from every target builds a
+ * <code>app.maze.components.algorithm.pathfinder.field.FlowField</code>, which
+ * then steers every agent one step per tick. Agents never share a cell.
+ *
+ * @see app.maze.components.algorithm.pathfinder.PathFinder PathFinder
+ * @see app.maze.components.algorithm.pathfinder.field.FlowField FlowField
+ */
+public class Swarm extends PathFinder {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum agent count.
+     */
+    private int agents = 1000;
+
+    /**
+     * Spawn seed, so equal seeds simulate equal swarms.
+     */
+    private long seed = new SplittableRandom().nextLong();
+
+    /**
+     * Last built flow field.
+     */
+    private transient FlowField field = null;
+
+    /**
+     * Neighbor buffer.
+     */
+    private transient int[] neighbors;
+
+    @Override
+    protected final int advance(final int root) throws InterruptedException {
+        if (target == -1)
+            return -1;
+        neighbors = new int[GridGraph.DEGREE];
+        flow();
+        if (!isGoal(root) && !field.reaches(root))
+            return -1;
+        simulate(root);
+        // Link root path along flow field to its nearest target
+        int node = root;
+        for (; !isGoal(node); node = field.next(node))
+            parent[field.next(node)] = node;
+        return node;
+    }
+
+    /**
+     * Build flow field by searching backwards from every target at once,
+     * storing weights to nearest target.
+     *
+     * @throws InterruptedException if (!running)
+     */
+    private final void flow() throws InterruptedException {
+        // Initialize frontier
+        final Frontier frontier = newFrontier();
+        field = new FlowField(graph, target);
+        dist[target] = 0;
+        frontier.push(target, 0);
+        for (final int goal : goals) {
+            dist[goal] = 0;
+            frontier.push(goal, 0);
+        }
+        int level = 0;
+        while (!frontier.isEmpty()) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            final int key = frontier.peekKey();
+            final int node = frontier.poll();
+            visited.set(node);
+            // Delay iteration once per key level
+            if (key > level) {
+                level = key;
+                Thread.sleep(delay);
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, node));
+            // Range through cell neighbors
+            for (int i = 0, n = graph.neighbors(node, neighbors); i < n; i++) {
+                final int child = neighbors[i];
+                // Ignore if not walkable or settled
+                if (!graph.isWalkable(child) || visited.get(child))
+                    continue;
+                // Backward search walks edges in reverse
+                final int alt = dist[node] + graph.weight(child, node);
+                if (alt >= dist[child])
+                    continue;
+                // Fire germinated PathFinderEvent
+                if (!frontier.contains(child))
+                    fireNodeGerminated(new TraverserEvent(this, child));
+                dist[child] = alt;
+                field.point(child, node);
+                frontier.push(child, alt);
+            }
+        }
+    }
+
+    /**
+     * Spawn agents on random reachable cells and step them along flow field until
+     * every agent reaches target.
+     *
+     * @param root int
+     * @throws InterruptedException if (!running)
+     */
+    private final void simulate(final int root) throws InterruptedException {
+        int[] position = new int[graph.size()];
+        int reachable = 0;
+        for (int i = 0; i < graph.size(); i++)
+            if (i != root && !isGoal(i) && field.reaches(i))
+                position[reachable++] = i;
+        // Pick agent cells by partial Fisher-Yates shuffle
+        final SplittableRandom random = new SplittableRandom(seed);
+        int alive = Math.min(agents, reachable);
+        for (int a = 0; a < alive; a++) {
+            final int b = a + random.nextInt(reachable - a);
+            final int swap = position[a];
+            position[a] = position[b];
+            position[b] = swap;
+        }
+        position = Arrays.copyOf(position, alive);
+        // Occupied cells, hashed by their own index
+        final BitSet occupied = new BitSet(graph.size());
+        for (int a = 0; a < alive; a++)
+            occupied.set(position[a]);
+        // Fire germinated PathFinderEvent
+        fireNodeGerminated(new TraverserEvent(this, position.clone()));
+        final int[] left = new int[alive];
+        final int[] entered = new int[alive];
+        while (alive > 0) {
+            // Check for waiting state
+            assertWaiting();
+            // Check for running state
+            if (!running)
+                throw new InterruptedException("Invokation interrupted...");
+            // Delay iteration once per tick
+            Thread.sleep(delay);
+            int l = 0;
+            int e = 0;
+            for (int a = 0; a < alive; a++) {
+                final int from = position[a];
+                final int to = step(from, occupied);
+                // Wait if every downhill step is taken
+                if (to == -1)
+                    continue;
+                occupied.clear(from);
+                left[l++] = from;
+                // Remove arrived agent and step swapped one this tick
+                if (isGoal(to))
+                    position[a--] = position[--alive];
+                else {
+                    occupied.set(to);
+                    position[a] = to;
+                    entered[e++] = to;
+                }
+            }
+            // Fire visited PathFinderEvent
+            fireNodeVisited(new TraverserEvent(this, Arrays.copyOf(left, l)));
+            // Fire germinated PathFinderEvent
+            fireNodeGerminated(new TraverserEvent(this, Arrays.copyOf(entered, e)));
+        }
+    }
+
+    /**
+     * Return free next step of agent cell, sidestepping downhill if flow field
+     * step is taken, or -1 if blocked.
+     *
+     * @param from     int
+     * @param occupied BitSet
+     * @return int
+     */
+    private final int step(final int from, final BitSet occupied) {
+        final int next = field.next(from);
+        if (isGoal(next) || !occupied.get(next))
+            return next;
+        int best = -1;
+        for (int i = 0, n = graph.neighbors(from, neighbors); i < n; i++) {
+            final int child = neighbors[i];
+            if (!graph.isWalkable(child) || occupied.get(child) || dist[child] >= dist[from])
+                continue;
+            if (best == -1 || dist[child] < dist[best])
+                best = child;
+        }
+        return best;
+    }
+
+    @Override
+    public final AlgorithmParameterSpec getParameterSpec() {
+        return null;
+    }
+
+    /**
+     * Return last built flow field.
+     *
+     * @return FlowField
+     */
+    public final FlowField getField() {
+        return field;
+    }
+
+    /**
+     * Return maximum agent count.
+     *
+     * @return int
+     */
+    public final int getAgents() {
+        return agents;
+    }
+
+    /**
+     * Set maximum agent count.
+     *
+     * @param agents int
+     */
+    public synchronized final void setAgents(final int agents) {
+        this.agents = agents;
+    }
+
+    /**
+     * Return spawn seed.
+     *
+     * @return long
+     */
+    public final long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Set spawn seed.
+     *
+     * @param seed long
+     */
+    public synchronized final void setSeed(final long seed) {
+        this.seed = seed;
+    }
+
+}
@@ -24,4 +24,18 @@ public abstract interface Walkable extends TreeNode, Serializable {
      */
     abstract void setWalkable(final boolean walkable);
 
+    /**
+     * Return node traversal cost.
+     *
+     * @return int
+     */
+    abstract int getCost();
+
+    /**
+     * Set node traversal cost.
+     *
+     * @param cost int
+     */
+    abstract void setCost(final int cost);
+
 }
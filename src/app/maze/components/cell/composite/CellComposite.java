@@ -1,24 +1,36 @@
 package app.maze.components.cell.composite;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.Arrays;
-import java.util.Vector;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
 import java.util.stream.IntStream;
 
-import javax.swing.tree.DefaultMutableTreeNode;
-import javax.swing.tree.MutableTreeNode;
+import javax.swing.tree.TreeNode;
 
 import app.maze.components.cell.State;
 import app.maze.components.cell.Walkable;
 import app.maze.components.cell.view.CellView;
+import app.maze.components.grid.GridGraph;
 import app.maze.controller.MazeController;
 import app.maze.controller.components.panel.flyweight.PanelFlyweight;
 import app.maze.model.MazeModel;
 
-public final class CellComposite extends DefaultMutableTreeNode implements Walkable {
+/**
+ * Thin <code>javax.swing.tree.TreeNode</code> view over a
+ * <code>app.maze.components.grid.GridGraph</code> cell, implementing
+ * <code>app.maze.components.cell.Walkable</code>. Children are the walkable
+ * neighbors of the cell.
+ *
+ * @see app.maze.components.cell.Walkable Walkable
+ * @see app.maze.components.grid.GridGraph GridGraph
+ */
+public final class CellComposite implements Walkable {
 
     private static final long serialVersionUID = 1L;
 
-    private boolean walkable = true;
+    private int index = -1;
 
     public CellComposite(final MazeController mzController) {
         setController(mzController);
@@ -28,86 +40,166 @@ public final class CellComposite extends DefaultMutableTreeNode implements Walka
         this(null);
     }
 
-    @SuppressWarnings("unchecked")
-    public final void override() {
-        // Ignore if DefaultMutableTreeNode leaf
-        if (isLeaf())
-            return;
-        // Remove MutableTreeNode children
-        ((Vector<CellComposite>)children.clone()).forEach(child -> {
-            removeAllChildren();
-            child.override();
-        });
+    /**
+     * Walkable neighbor indices, cached per graph version.
+     */
+    private transient int[] children = null;
+
+    /**
+     * Cached walkable neighbor count.
+     */
+    private transient int count = 0;
+
+    /**
+     * Graph of cached neighbors.
+     */
+    private transient GridGraph cached = null;
+
+    /**
+     * Graph version of cached neighbors.
+     */
+    private transient int version;
+
+    /**
+     * Refresh walkable neighbor indices if graph changed since last call, and
+     * return their count.
+     *
+     * @return int
+     */
+    private final int neighbors() {
+        final GridGraph graph = mzController.getFlyweight().getGraph();
+        final int version = graph.getVersion();
+        if (cached == graph && this.version == version)
+            return count;
+        if (children == null)
+            children = new int[GridGraph.DEGREE];
+        int n = 0;
+        if (graph.isWalkable(index))
+            for (int i = 0, m = graph.neighbors(index, children); i < m; i++)
+                if (graph.isWalkable(children[i]))
+                    children[n++] = children[i];
+        cached = graph;
+        this.version = version;
+        return count = n;
     }
 
     @Override
-    public final void insert(MutableTreeNode newChild, int childIndex) {
-        super.insert(newChild, childIndex);
-        // Initialize MutableTreeNode with no parent
-        newChild.setParent(null);
+    public final TreeNode getChildAt(final int childIndex) {
+        if (childIndex < 0 || childIndex >= neighbors())
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds...");
+        return mzController.getFlyweight().getReference(children[childIndex]);
     }
 
-    public final boolean isOrphan() {
-        return parent == null ? true : false;
+    @Override
+    public final int getChildCount() {
+        return neighbors();
+    }
+
+    @Override
+    public final TreeNode getParent() {
+        return null;
+    }
+
+    @Override
+    public final int getIndex(final TreeNode node) {
+        if (!(node instanceof CellComposite))
+            return -1;
+        final int i = ((CellComposite) node).getIndex();
+        for (int k = 0, n = neighbors(); k < n; k++)
+            if (children[k] == i)
+                return k;
+        return -1;
+    }
+
+    @Override
+    public final boolean getAllowsChildren() {
+        return true;
+    }
+
+    @Override
+    public final boolean isLeaf() {
+        return getChildCount() == 0;
+    }
+
+    @Override
+    public final Enumeration<? extends TreeNode> children() {
+        final int n = neighbors();
+        final PanelFlyweight flyweight = mzController.getFlyweight();
+        return new Enumeration<CellComposite>() {
+            private int k = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return k < n;
+            }
+
+            @Override
+            public CellComposite nextElement() {
+                if (k >= n)
+                    throw new NoSuchElementException("No more children...");
+                return flyweight.getReference(children[k++]);
+            }
+        };
     }
 
     @Override
     public final boolean isWalkable() {
-        return walkable;
+        return mzController.getFlyweight().getGraph().isWalkable(index);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public final void setWalkable(final boolean walkable) {
         final MazeModel mzModel = mzController.getModel();
         final PanelFlyweight flyweight = mzController.getFlyweight();
-        // Update Walkable state
-        this.walkable = walkable;
+        final GridGraph graph = flyweight.getGraph();
         if (walkable) {
             final Object root = mzModel.getRoot();
+            // Update Walkable state
+            graph.setWalkable(index, true);
             // Update CellView background
             clView.setState(State.WALKABLE);
             // Ignore if no TreeModel root
             if (root == null)
                 return;
-            // Get Object neighbors
-            final Object[] neighbors = flyweight.getNeighbors(this);
-            // Insert CellComposite neighbors
-            for (final CellComposite neighbor : Arrays.copyOf(neighbors, neighbors.length, CellComposite[].class)) {
-                // Ignore if not Walkable
-                if (!neighbor.isWalkable())
-                    continue;
-                // Add CellComposite neighbors if not MutableTreeNode children
-                if (children != null && !children.contains(neighbor))
-                    add(neighbor);
-                if (neighbor.children != null && !neighbor.children.contains(this))
-                    neighbor.add(this);
-            }
             // Override DefaultTreeModel root
             if (equals(root))
                 mzModel.setRoot(null);
             // Notify TreeModelListener insertion
             mzModel.nodesWereInserted(this, IntStream.range(0, getChildCount()).toArray());
         } else {
+            // Get old enpoints
+            final int[] oldIndex = IntStream.range(0, getChildCount()).toArray();
+            final Object[] oldChildren = Arrays.stream(oldIndex).mapToObj(this::getChildAt).toArray();
+            // Update Walkable state
+            graph.setWalkable(index, false);
             // Update CellView background
             clView.setState(State.UNWALKABLE);
-            if (isLeaf())
-                // Notify TreeModelListener empty removal
-                mzModel.nodesWereRemoved(this, new int[0], new Object[0]);
-            else {
-                // Remove CellComposite neighbors
-                ((Vector<CellComposite>)children.clone()).forEach(child -> child.children.remove(this));
-                // Get old DefaultMutableTreeNode enpoints
-                final int[] oldIndex = IntStream.range(0, getChildCount()).toArray();
-                final Object[] oldChildren = children.toArray();
-                // Remove all DefaultMutableTreeNode children
-                removeAllChildren();
-                // Notify TreeModelListener removal
-                mzModel.nodesWereRemoved(this, oldIndex, oldChildren);
-            }
+            // Notify TreeModelListener removal
+            mzModel.nodesWereRemoved(this, oldIndex, oldChildren);
         }
     }
 
+    @Override
+    public final int getCost() {
+        return mzController.getFlyweight().getGraph().getCost(index);
+    }
+
+    @Override
+    public final void setCost(final int cost) {
+        mzController.getFlyweight().getGraph().setCost(index, cost);
+        // Repaint CellView cost shade
+        clView.repaint();
+    }
+
+    public final int getIndex() {
+        return index;
+    }
+
+    public final void setIndex(final int index) {
+        this.index = index;
+        cached = null;
+    }
+
     private transient MazeController mzController;
 
     public final MazeController getController() {
@@ -128,6 +220,28 @@ public final class CellComposite extends DefaultMutableTreeNode implements Walka
         this.clView = clView;
     }
 
+    /**
+     * Walkable state stored by mazes saved before the grid graph core.
+     */
+    private transient boolean saved;
+
+    /**
+     * Return walkable state stored by mazes saved before the grid graph core.
+     *
+     * @return boolean
+     */
+    public final boolean isSaved() {
+        return saved;
+    }
+
+    private final void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final ObjectInputStream.GetField fields = in.readFields();
+        index = fields.get("index", -1);
+        clView = (CellView) fields.get("clView", null);
+        // Older mazes hold walkable state on each cell
+        saved = fields.getObjectStreamClass().getField("walkable") == null || fields.get("walkable", true);
+    }
+
     @Override
     public final String toString() {
         return String.format("Neighbors: %d", getChildCount());
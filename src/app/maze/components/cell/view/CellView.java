@@ -1,5 +1,7 @@
 package app.maze.components.cell.view;
 
+import java.awt.Color;
+import java.awt.Graphics;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.Serializable;
@@ -48,16 +50,44 @@ public final class CellView extends JPanel {
             manager.assertRunning();
             // Update Walkable
             clComposite.setWalkable(walk);
-            // Ignore if Walkable
-            if (walk)
-                return;
-            // Update CellView
-            recolor.andThen(this::setState).accept(State.UNWALKABLE);
+            // Update CellView if not Walkable
+            if (!walk)
+                recolor.andThen(this::setState).accept(State.UNWALKABLE);
+            // Repair incremental path
+            manager.replan();
         } catch (final InterruptedException e) {
             JWrapper.dispatchException(e);
         }
     }
 
+    public final void brush(final int cost) {
+        try {
+            final ProcessManager manager = mzController.getManager();
+            // Assert running AlgorithmManager
+            manager.assertRunning();
+            // Update cost
+            clComposite.setCost(cost);
+            // Repair incremental path
+            manager.replan();
+        } catch (final InterruptedException e) {
+            JWrapper.dispatchException(e);
+        }
+    }
+
+    @Override
+    protected final void paintComponent(final Graphics g) {
+        super.paintComponent(g);
+        // Ignore if unlinked
+        if (clComposite == null || clComposite.getController() == null || !clComposite.isWalkable())
+            return;
+        final int cost = clComposite.getCost();
+        if (cost == 1)
+            return;
+        // Shade walkable cell darker as it costs more
+        g.setColor(new Color(0, 0, 0, 16 + (cost - 1) * 144 / 254));
+        g.fillRect(0, 0, getWidth(), getHeight());
+    }
+
     public synchronized static void select(final CellView selected) {
         // Focus CellView
         focus(selected, false);
@@ -104,6 +134,16 @@ public final class CellView extends JPanel {
         return focused;
     }
 
+    private int index = -1;
+
+    public final int getIndex() {
+        return index;
+    }
+
+    public final void setIndex(final int index) {
+        this.index = index;
+    }
+
     private transient MazeController mzController;
 
     public final MazeController getController() {
@@ -129,6 +169,14 @@ public final class CellView extends JPanel {
         private static final long serialVersionUID = 1L;
 
         private final void dispatchButton(final MouseEvent e) {
+            // Paint node cost if Control down
+            if (e.isControlDown()) {
+                if ((e.getModifiersEx() & MouseEvent.BUTTON1_DOWN_MASK) != 0)
+                    brush(mzController.getBrush());
+                else if ((e.getModifiersEx() & MouseEvent.BUTTON3_DOWN_MASK) != 0)
+                    brush(1);
+                return;
+            }
             // Ignore if not Shift down
             if (!e.isShiftDown())
                 return;
@@ -148,7 +196,7 @@ public final class CellView extends JPanel {
                 // Focus CellView
                 focus(CellView.this, true);
                 // Check MouseEvent state
-                if (e.isShiftDown()) {
+                if (e.isShiftDown() || e.isControlDown()) {
                     // Assert running AlgorithmManager
                     manager.assertRunning();
                     // Dispatch MouseEvent
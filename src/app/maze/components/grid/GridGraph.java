@@ -0,0 +1,548 @@
+package app.maze.components.grid;
+
+import java.io.Serializable;
+import java.security.InvalidParameterException;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Primitive grid graph core, implementing <code>java.io.Serializable</code>.
+ * Cells are addressed by row-major int index and walkability is bit-packed
+ * into a <code>long[]</code> plane.
+ *
+ * @see java.io.Serializable Serializable
+ */
+public final class GridGraph implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum neighbor count per cell.
+     */
+    public static final int DEGREE = 8;
+
+    /**
+     * Orthogonal step weight.
+     */
+    public static final int ORTHOGONAL = 10;
+
+    /**
+     * Diagonal step weight, approximating <code>ORTHOGONAL * sqrt(2)</code>.
+     */
+    public static final int DIAGONAL = 14;
+
+    /**
+     * Changed cell journal capacity, a power of two.
+     */
+    private static final int JOURNAL = 1 << 12;
+
+    /**
+     * Dimension rows.
+     */
+    private int rows;
+
+    /**
+     * Dimension columns.
+     */
+    private int columns;
+
+    /**
+     * Periodic behaviour flag.
+     */
+    private boolean periodic = false;
+
+    /**
+     * Edged behaviour flag.
+     */
+    private boolean edged = false;
+
+    /**
+     * Bit-packed walkable plane.
+     */
+    private long[] walkable;
+
+    /**
+     * Unsigned per-cell traversal cost plane, lazily allocated.
+     */
+    private byte[] costs = null;
+
+    /**
+     * Lazily precomputed neighbor tables, one per (periodic, edged) topology.
+     */
+    private transient Topology[] topologies = null;
+
+    /**
+     * Change count, bumped on every cell, dimension or topology change.
+     */
+    private transient int version = 0;
+
+    /**
+     * Version of last whole graph change.
+     */
+    private transient int epoch = 0;
+
+    /**
+     * Ring journal of last changed cells, lazily allocated.
+     */
+    private transient int[] journal = null;
+
+    /**
+     * Create new walkable grid graph.
+     *
+     * @param rows    int
+     * @param columns int
+     * @throws InvalidParameterException if (rows < 0 || columns < 0)
+     */
+    public GridGraph(final int rows, final int columns) throws InvalidParameterException {
+        resize(rows, columns);
+    }
+
+    /**
+     * Create new empty grid graph.
+     */
+    public GridGraph() {
+        this(0, 0);
+    }
+
+    /**
+     * Override graph dimension and revert every cell to walkable.
+     *
+     * @param rows    int
+     * @param columns int
+     * @throws InvalidParameterException if (rows < 0 || columns < 0)
+     */
+    public final void resize(final int rows, final int columns) throws InvalidParameterException {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE)
+            throw new InvalidParameterException("Dimension out of bounds...");
+        this.rows = rows;
+        this.columns = columns;
+        topologies = null;
+        costs = null;
+        walkable = new long[(rows * columns + 63) >>> 6];
+        fill(true);
+    }
+
+    /**
+     * Set every cell walkable state.
+     *
+     * @param walkable boolean
+     */
+    public final void fill(final boolean walkable) {
+        Arrays.fill(this.walkable, walkable ? -1L : 0L);
+        trim();
+        epoch = ++version;
+    }
+
+    /**
+     * Set every cell walkable state from bit-packed words, cell <code>i</code>
+     * walkable if bit <code>i & 63</code> of word <code>i >>> 6</code> is set.
+     *
+     * @param walkable long[]
+     * @throws InvalidParameterException if (walkable.length != words)
+     */
+    public final void fill(final long[] walkable) throws InvalidParameterException {
+        if (walkable.length != this.walkable.length)
+            throw new InvalidParameterException("Word count must match cell count...");
+        System.arraycopy(walkable, 0, this.walkable, 0, walkable.length);
+        trim();
+        epoch = ++version;
+    }
+
+    /**
+     * Record cell change into journal.
+     *
+     * @param i int
+     */
+    private final void record(final int i) {
+        if (journal == null)
+            journal = new int[JOURNAL];
+        journal[version++ & (JOURNAL - 1)] = i;
+    }
+
+    /**
+     * Replay cells changed since given version, oldest first, and return
+     * whether every change since then is still journaled. Nothing is replayed
+     * otherwise, and callers must assume the whole graph changed.
+     *
+     * @param since  int
+     * @param action IntConsumer
+     * @return boolean
+     */
+    public final boolean replay(final int since, final IntConsumer action) {
+        if (since - epoch < 0 || version - since > JOURNAL)
+            return false;
+        for (int v = since; v != version; v++)
+            action.accept(journal[v & (JOURNAL - 1)]);
+        return true;
+    }
+
+    /**
+     * Return change count.
+     *
+     * @return int
+     */
+    public final int getVersion() {
+        return version;
+    }
+
+    /**
+     * Clear trailing bits past last cell.
+     */
+    private final void trim() {
+        final int tail = size() & 63;
+        if (tail != 0)
+            walkable[walkable.length - 1] &= -1L >>> (64 - tail);
+    }
+
+    /**
+     * Flatten coordinates, wrapping them if periodic.
+     *
+     * @param row int
+     * @param col int
+     * @return int
+     */
+    public final int index(int row, int col) {
+        if (periodic) {
+            row = Math.floorMod(row, rows);
+            col = Math.floorMod(col, columns);
+        } else if (row < 0 || row >= rows || col < 0 || col >= columns)
+            return -1;
+        return row * columns + col;
+    }
+
+    /**
+     * Return cell row.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int row(final int i) {
+        return i / columns;
+    }
+
+    /**
+     * Return cell column.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int column(final int i) {
+        return i % columns;
+    }
+
+    /**
+     * Return precomputed neighbor table for current topology.
+     *
+     * @return Topology
+     */
+    private final Topology topology() {
+        Topology[] topologies = this.topologies;
+        if (topologies == null)
+            this.topologies = topologies = new Topology[4];
+        final int key = (periodic ? 2 : 0) | (edged ? 1 : 0);
+        Topology topology = topologies[key];
+        // IMPORTANT: Topology is immutable, so a racing rebuild is harmless
+        if (topology == null)
+            topologies[key] = topology = new Topology(this);
+        return topology;
+    }
+
+    /**
+     * Compute neighbouring indices based on current topology, regardless of
+     * walkable state. Lookup never allocates nor locks.
+     *
+     * @param i   int
+     * @param out int[]
+     * @return int
+     * @throws ArrayIndexOutOfBoundsException if (i < 0 || i >= size())
+     */
+    public final int neighbors(final int i, final int[] out) throws ArrayIndexOutOfBoundsException {
+        if (i < 0 || i >= size())
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds...");
+        final Topology topology = topology();
+        final int row = i / columns;
+        final int col = i - row * columns;
+        // Interior cells share a single offset table
+        if (row > 0 && row < rows - 1 && col > 0 && col < columns - 1) {
+            final int[] deltas = topology.deltas;
+            for (int k = 0; k < deltas.length; k++)
+                out[k] = i + deltas[k];
+            return deltas.length;
+        }
+        final int base = topology.rank(row, col) * (DEGREE + 1);
+        final int n = topology.border[base];
+        System.arraycopy(topology.border, base + 1, out, 0, n);
+        return n;
+    }
+
+    /**
+     * Return whether cell is walkable.
+     *
+     * @param i int
+     * @return boolean
+     */
+    public final boolean isWalkable(final int i) {
+        return (walkable[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Set cell walkable state.
+     *
+     * @param i        int
+     * @param walkable boolean
+     */
+    public final void setWalkable(final int i, final boolean walkable) {
+        if (isWalkable(i) == walkable)
+            return;
+        record(i);
+        if (walkable)
+            this.walkable[i >>> 6] |= 1L << i;
+        else
+            this.walkable[i >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * Return cell traversal cost.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int getCost(final int i) {
+        return costs == null ? 1 : costs[i] & 0xFF;
+    }
+
+    /**
+     * Set cell traversal cost.
+     *
+     * @param i    int
+     * @param cost int
+     * @throws InvalidParameterException if (cost < 1 || cost > 255)
+     */
+    public final void setCost(final int i, final int cost) throws InvalidParameterException {
+        if (cost < 1 || cost > 255)
+            throw new InvalidParameterException("Cost out of bounds...");
+        if (getCost(i) == cost)
+            return;
+        if (costs == null) {
+            costs = new byte[size()];
+            Arrays.fill(costs, (byte) 1);
+        }
+        record(i);
+        costs[i] = (byte) cost;
+    }
+
+    /**
+     * Return highest cell traversal cost.
+     *
+     * @return int
+     */
+    public final int getMaxCost() {
+        if (costs == null)
+            return 1;
+        int max = 1;
+        for (final byte cost : costs)
+            max = Math.max(max, cost & 0xFF);
+        return max;
+    }
+
+    /**
+     * Return whether every cell has unit traversal cost.
+     *
+     * @return boolean
+     */
+    public final boolean isUniform() {
+        if (costs == null)
+            return true;
+        for (final byte cost : costs)
+            if (cost != 1)
+                return false;
+        return true;
+    }
+
+    /**
+     * Return weight of stepping between neighbouring cells.
+     *
+     * @param from int
+     * @param to   int
+     * @return int
+     */
+    public final int weight(final int from, final int to) {
+        final boolean diagonal = row(from) != row(to) && column(from) != column(to);
+        return getCost(to) * (diagonal ? DIAGONAL : ORTHOGONAL);
+    }
+
+    /**
+     * Return cell count.
+     *
+     * @return int
+     */
+    public final int size() {
+        return rows * columns;
+    }
+
+    /**
+     * Return graph dimension rows.
+     *
+     * @return int
+     */
+    public final int getRows() {
+        return rows;
+    }
+
+    /**
+     * Return graph dimension columns.
+     *
+     * @return int
+     */
+    public final int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Return whether graph is periodic.
+     *
+     * @return boolean
+     */
+    public final boolean isPeriodic() {
+        return periodic;
+    }
+
+    /**
+     * Set graph periodic behaviour.
+     *
+     * @param periodic boolean
+     */
+    public final void setPeriodic(final boolean periodic) {
+        this.periodic = periodic;
+        epoch = ++version;
+    }
+
+    /**
+     * Return whether graph is edged.
+     *
+     * @return boolean
+     */
+    public final boolean isEdged() {
+        return edged;
+    }
+
+    /**
+     * Set graph edged behaviour.
+     *
+     * @param edged boolean
+     */
+    public final void setEdged(final boolean edged) {
+        this.edged = edged;
+        epoch = ++version;
+    }
+
+    @Override
+    public final String toString() {
+        return String.format("GridGraph [rows: %d, columns: %d]", rows, columns);
+    }
+
+    /**
+     * Immutable neighbor table for a single topology. Interior cells resolve
+     * through shared offsets, border cells through a padded lookup table.
+     */
+    private static final class Topology {
+
+        /**
+         * Interior neighbor offsets.
+         */
+        private final int[] deltas;
+
+        /**
+         * Border neighbor table, each entry prefixed by its count.
+         */
+        private final int[] border;
+
+        /**
+         * Dimension rows.
+         */
+        private final int rows;
+
+        /**
+         * Dimension columns.
+         */
+        private final int columns;
+
+        /**
+         * Whether every cell is a border cell.
+         */
+        private final boolean small;
+
+        /**
+         * Precompute neighbor table of given graph topology.
+         *
+         * @param graph GridGraph
+         */
+        private Topology(final GridGraph graph) {
+            rows = graph.rows;
+            columns = graph.columns;
+            small = rows < 3 || columns < 3;
+            final int[] deltas = new int[DEGREE];
+            int d = 0;
+            for (int dr = -1; dr <= 1; dr++)
+                for (int dc = -1; dc <= 1; dc++)
+                    if (!(dr == 0 && dc == 0) && (graph.edged || dr == 0 || dc == 0))
+                        deltas[d++] = dr * columns + dc;
+            this.deltas = Arrays.copyOf(deltas, d);
+            border = new int[(small ? rows * columns : 2 * columns + 2 * (rows - 2)) * (DEGREE + 1)];
+            for (int row = 0; row < rows; row++)
+                for (int col = 0; col < columns; col++) {
+                    if (!small && row > 0 && row < rows - 1 && col > 0 && col < columns - 1)
+                        continue;
+                    final int i = row * columns + col;
+                    final int base = rank(row, col) * (DEGREE + 1);
+                    int n = 0;
+                    for (int dr = -1; dr <= 1; dr++)
+                        for (int dc = -1; dc <= 1; dc++) {
+                            // Ignore self and diagonals if not edged
+                            if ((dr == 0 && dc == 0) || (!graph.edged && dr != 0 && dc != 0))
+                                continue;
+                            final int j = graph.index(row + dr, col + dc);
+                            if (j == -1 || j == i || contains(border, base + 1, n, j))
+                                continue;
+                            border[base + 1 + n++] = j;
+                        }
+                    border[base] = n;
+                }
+        }
+
+        /**
+         * Return border table slot of border cell.
+         *
+         * @param row int
+         * @param col int
+         * @return int
+         */
+        private final int rank(final int row, final int col) {
+            if (small)
+                return row * columns + col;
+            if (row == 0)
+                return col;
+            if (row == rows - 1)
+                return columns + col;
+            return 2 * columns + 2 * (row - 1) + (col == 0 ? 0 : 1);
+        }
+
+        /**
+         * Return whether index is already stored in n slots from offset.
+         *
+         * @param a   int[]
+         * @param off int
+         * @param n   int
+         * @param j   int
+         * @return boolean
+         */
+        private static final boolean contains(final int[] a, final int off, final int n, final int j) {
+            for (int k = off; k < off + n; k++)
+                if (a[k] == j)
+                    return true;
+            return false;
+        }
+
+    }
+
+}
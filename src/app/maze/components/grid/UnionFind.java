@@ -0,0 +1,123 @@
+package app.maze.components.grid;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Flat disjoint set forest over grid graph cell indices, implementing
+ * <code>java.io.Serializable</code>. Lookups halve paths as they climb and
+ * unions hang the lower ranked root under the higher one, so any sequence of
+ * operations runs in near constant amortized time per call.
+ *
+ * @see java.io.Serializable Serializable
+ */
+public final class UnionFind implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Cell parent, itself if root.
+     */
+    private final int[] parent;
+
+    /**
+     * Root tree height upper bound.
+     */
+    private final byte[] rank;
+
+    /**
+     * Current set count.
+     */
+    private int count;
+
+    /**
+     * Create new forest of given cell count, each cell in its own set.
+     *
+     * @param size int
+     */
+    public UnionFind(final int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        clear();
+    }
+
+    /**
+     * Split every cell back into its own set.
+     */
+    public final void clear() {
+        for (int i = 0; i < parent.length; i++)
+            parent[i] = i;
+        Arrays.fill(rank, (byte) 0);
+        count = parent.length;
+    }
+
+    /**
+     * Return set representative of cell, halving its path.
+     *
+     * @param i int
+     * @return int
+     */
+    public final int find(int i) {
+        while (parent[i] != i) {
+            // Point cell to its grandparent
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merge sets of both cells and return whether they were disjoint.
+     *
+     * @param i int
+     * @param j int
+     * @return boolean
+     */
+    public final boolean union(final int i, final int j) {
+        int a = find(i);
+        int b = find(j);
+        if (a == b)
+            return false;
+        // Hang lower ranked root
+        if (rank[a] < rank[b]) {
+            final int t = a;
+            a = b;
+            b = t;
+        }
+        parent[b] = a;
+        if (rank[a] == rank[b])
+            rank[a]++;
+        count--;
+        return true;
+    }
+
+    /**
+     * Return whether both cells share a set.
+     *
+     * @param i int
+     * @param j int
+     * @return boolean
+     */
+    public final boolean connected(final int i, final int j) {
+        return find(i) == find(j);
+    }
+
+    /**
+     * Return cell count.
+     *
+     * @return int
+     */
+    public final int size() {
+        return parent.length;
+    }
+
+    /**
+     * Return current set count.
+     *
+     * @return int
+     */
+    public final int count() {
+        return count;
+    }
+
+}
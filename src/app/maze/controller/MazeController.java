@@ -2,16 +2,14 @@ package app.maze.controller;
 
 import java.awt.Cursor;
 import java.awt.event.KeyEvent;
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Enumeration;
-import java.util.List;
 
 import javax.swing.JTree;
 import javax.swing.tree.DefaultTreeCellRenderer;
@@ -74,6 +72,29 @@ public final class MazeController implements Serializable {
         this(null, null);
     }
 
+    /**
+     * Cost brush value.
+     */
+    private int brush = 5;
+
+    /**
+     * Return cost brush value.
+     *
+     * @return int
+     */
+    public final int getBrush() {
+        return brush;
+    }
+
+    /**
+     * Set cost brush value.
+     *
+     * @param brush int
+     */
+    public final void setBrush(final int brush) {
+        this.brush = brush;
+    }
+
     /**
      * Resize
      * <code>app.maze.controller.components.panel.flyweight.PanelFlyweight</code>
@@ -96,17 +117,19 @@ public final class MazeController implements Serializable {
     }
 
     /**
-     * Expand <code>javax.swing.JTree</code> node view.
+     * Expand <code>javax.swing.JTree</code> node view along grid graph path.
+     *
+     * @param path int[]
      */
-    public final void expand() {
+    public final void expand(final int[] path) {
         final JTree tree = mzView.getTree();
         // IMPORTANT: Delete MazeModel reference and update it in order to collapse JTree
         TreeFactory.putTreeModel(tree, mzModel);
-        final List<TreeNode> path = new ArrayList<TreeNode>(0);
-        for (TreeNode parent = ((TreeNode) mzModel.getTarget()).getParent(); parent != null; parent = parent.getParent())
-            path.add(parent);
-        Collections.reverse(path);
-        tree.expandPath(new TreePath(path.toArray()));
+        final Object[] nodes = new Object[path.length + 1];
+        nodes[0] = mzModel.getRoot();
+        for (int i = 0; i < path.length; i++)
+            nodes[i + 1] = flyweight.getReference(path[i]);
+        tree.expandPath(new TreePath(nodes));
     }
 
     /**
@@ -154,8 +177,10 @@ public final class MazeController implements Serializable {
             manager.await();
         else if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
             reset();
-            for (final CellComposite node : flyweight.getReferences())
-                node.setWalkable(false);
+            // Wall every cell in bulk, notifying TreeModel once
+            flyweight.getGraph().fill(false);
+            flyweight.restate();
+            collapse();
         } else if (e.getKeyCode() == KeyEvent.VK_LEFT)
             reset();
     }
@@ -209,6 +234,12 @@ public final class MazeController implements Serializable {
             final PanelFlyweight otherFlyweight = (PanelFlyweight) in.readObject();
             final TreeNode otherRoot = (TreeNode) in.readObject();
             final TreeNode otherTarget = (TreeNode) in.readObject();
+            TreeNode[] otherTargets = new TreeNode[0];
+            try {
+                otherTargets = (TreeNode[]) in.readObject();
+            } catch (final EOFException e) {
+                // Older mazes hold a single target
+            }
             in.close();
             file.close();
             manager.interrupt();
@@ -216,6 +247,8 @@ public final class MazeController implements Serializable {
             mzModel.reset();
             mzModel.setRoot(otherRoot);
             mzModel.setTarget(otherTarget);
+            for (final TreeNode node : otherTargets)
+                mzModel.toggleTarget(node);
         } catch (final IOException | ClassNotFoundException e) {
             JWrapper.dispatchException(e);
         }
@@ -231,18 +264,14 @@ public final class MazeController implements Serializable {
             manager.assertRunning();
             final FileOutputStream file = new FileOutputStream(path);
             final ObjectOutputStream out = new ObjectOutputStream(file);
-            final CellComposite root = (CellComposite) mzModel.getRoot();
             CellView.select(null);
             mzModel.clear();
-            if (root != null)
-                root.override();
             out.writeObject(flyweight);
-            out.writeObject(root);
+            out.writeObject(mzModel.getRoot());
             out.writeObject(mzModel.getTarget());
+            out.writeObject(mzModel.getTargets().toArray(new TreeNode[0]));
             out.close();
             file.close();
-            if (root != null)
-                mzModel.initNeighbors(root);
         } catch (final InterruptedException | IOException e) {
             JWrapper.dispatchException(e);
         }
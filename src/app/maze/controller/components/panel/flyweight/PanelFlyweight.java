@@ -5,25 +5,29 @@ import java.awt.GridLayout;
 import java.awt.LayoutManager;
 import java.awt.event.ContainerEvent;
 import java.awt.event.ContainerListener;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import javax.swing.JPanel;
 
+import app.maze.components.cell.State;
 import app.maze.components.cell.composite.CellComposite;
 import app.maze.components.cell.view.CellView;
+import app.maze.components.grid.GridGraph;
 import app.maze.controller.MazeController;
 import app.maze.controller.components.panel.Transformable;
 
 /**
  * Maze cell storage Flyweight representation, extending
  * <code>javax.swing.JPanel</code> and implementing
- * <code>app.maze.controller.components.panel.Transformable</code>.
+ * <code>app.maze.controller.components.panel.Transformable</code>. Cells are
+ * views over an underlying <code>app.maze.components.grid.GridGraph</code>.
  *
  * @see javax.swing.JPanel
  * @see app.maze.controller.components.panel.Transformable
@@ -38,14 +42,9 @@ public final class PanelFlyweight extends JPanel implements Transformable {
     private List<CellComposite> reference = new ArrayList<CellComposite>(0);
 
     /**
-     * Periodic behaviour flag.
+     * Primitive grid graph core.
      */
-    private boolean periodic = false;
-
-    /**
-     * Edged behaviour flag.
-     */
-    private boolean edged = false;
+    private GridGraph graph = new GridGraph();
 
     {
         // IMPORTANT: Set JComponent double buffer to prevent popping
@@ -80,6 +79,7 @@ public final class PanelFlyweight extends JPanel implements Transformable {
     private final void revert(final int width, final int height) {
         removeAll();
         setLayout(new GridLayout(width, height, 0, 0));
+        graph.resize(width, height);
         reference = new ArrayList<CellComposite>(width * height);
     }
 
@@ -98,19 +98,11 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @throws InvalidParameterException if (!(o instanceof CellComposite and o instanceof CellView))
      */
     public final Object request(final Object o) throws InvalidParameterException {
-        Object[] in;
-        Object[] out;
-        synchronized (getTreeLock()) {
-            if (o instanceof CellComposite) {
-                in = getReferences();
-                out = getComponents();
-            } else if (o instanceof CellView) {
-                in = getComponents();
-                out = getReferences();
-            } else
-                throw new InvalidParameterException("Invalid Object...");
-        }
-        return out[Arrays.asList(in).indexOf(o)];
+        if (o instanceof CellComposite)
+            return ((CellComposite) o).getView();
+        if (o instanceof CellView)
+            return ((CellView) o).getComposite();
+        throw new InvalidParameterException("Invalid Object...");
     }
 
     /**
@@ -119,7 +111,8 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @param other PanelFlyweight
      */
     public final void override(final PanelFlyweight other) {
-        revert(other.getColumns(), other.getRows());
+        revert(other.getRows(), other.getColumns());
+        graph = other.getGraph();
         synchronized (getTreeLock()) {
             final CellComposite[] o1 = other.getReferences();
             final CellView[] o2 = other.getComponents();
@@ -128,33 +121,6 @@ public final class PanelFlyweight extends JPanel implements Transformable {
         }
     }
 
-    /**
-     * Compute neighbourig indices based on multiple spatial parameters.
-     *
-     * @param i int
-     * @return Set<Integer>
-     * @throws ArrayIndexOutOfBoundsException if (i < 0 || i >= getComponentCount())
-     */
-    private final Set<Integer> neighbor(final int i) throws ArrayIndexOutOfBoundsException {
-        if (i < 0 || i >= getComponentCount())
-            throw new ArrayIndexOutOfBoundsException("Index out of bounds...");
-        final int[] dim = transform(i);
-        final Set<Integer> neighbors = new HashSet<Integer>(0);
-        for (int row = dim[0] - 1; row <= dim[0] + 1; row++)
-            for (int col = (edged ? 0 : Math.abs(row - dim[0])) + dim[1] - 1;
-                    col <= dim[1] + 1;
-                    col += Math.abs((edged ? Math.abs(row - dim[0]) : 0) - 2))
-                if (transform(new int[] { row, col }) == -1) {
-                    if (!periodic)
-                        continue;
-                    neighbors.add(transform(new int[] {
-                            row < 0 || row > getRows() - 1 ? getRows() - Math.abs(row) : row,
-                            col < 0 || col > getColumns() - 1 ? getColumns() - Math.abs(col) : col }));
-                } else
-                    neighbors.add(transform(new int[] { row, col }));
-        return neighbors;
-    }
-
     /**
      * Add cell storage link reference.
      *
@@ -175,6 +141,8 @@ public final class PanelFlyweight extends JPanel implements Transformable {
         }
         o1.setView(o2);
         o2.setComposite(o1);
+        o1.setIndex(reference.size());
+        o2.setIndex(reference.size());
         reference.add(o1);
         add(o2);
     }
@@ -184,14 +152,14 @@ public final class PanelFlyweight extends JPanel implements Transformable {
         if (dim.length != 2)
             throw new ArrayIndexOutOfBoundsException("Index out of bounds...");
         return dim[0] >= 0 && dim[0] < getRows() && dim[1] >= 0 && dim[1] < getColumns()
-                ? dim[0] * getRows() + dim[1]
+                ? graph.index(dim[0], dim[1])
                 : -1;
     }
 
     @Override
     public final int[] transform(final int i) {
-        return i >= 0 && i < getComponentCount()
-                ? new int[] { (i - i % getRows()) / getRows(), i % getRows() }
+        return i >= 0 && i < graph.size()
+                ? new int[] { graph.row(i), graph.column(i) }
                 : new int[0];
     }
 
@@ -207,15 +175,23 @@ public final class PanelFlyweight extends JPanel implements Transformable {
             add(new CellComposite(), new CellView());
     }
 
+    /**
+     * Update every CellView state from its walkability and repaint cost shades,
+     * in a single pass after bulk grid graph changes.
+     */
+    public final void restate() {
+        for (final CellView clView : getComponents())
+            clView.setState(clView.getComposite().isWalkable() ? State.WALKABLE : State.UNWALKABLE);
+        repaint();
+    }
+
     @Override
     protected final void addImpl(Component comp, Object constraints, int index)
             throws InvalidParameterException, ArrayIndexOutOfBoundsException {
         if (!(comp instanceof CellView))
             throw new InvalidParameterException("Component must be CellView...");
-        synchronized (getTreeLock()) {
-            if (getComponents().length + 1 != getReferences().length)
-                throw new ArrayIndexOutOfBoundsException("Index out of bounds...");
-        }
+        if (getComponentCount() + 1 != reference.size())
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds...");
         super.addImpl(comp, constraints, index);
     }
 
@@ -230,16 +206,43 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      */
     public final Object[] getNeighbors(final Object o)
             throws InvalidParameterException, ArrayIndexOutOfBoundsException {
-        Object[] a;
-        synchronized (getTreeLock()) {
-            if (o instanceof CellComposite)
-                a = getReferences();
-            else if (o instanceof CellView)
-                a = getComponents();
-            else
-                throw new InvalidParameterException("Invalid Object...");
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        final int n = graph.neighbors(indexOf(o), neighbors);
+        final Object[] a = new Object[n];
+        for (int k = 0; k < n; k++) {
+            final CellComposite neighbor = reference.get(neighbors[k]);
+            a[k] = o instanceof CellView ? neighbor.getView() : neighbor;
         }
-        return neighbor(Arrays.asList(a).indexOf(o)).stream().map(i -> a[i]).toArray();
+        return a;
+    }
+
+    /**
+     * Return grid graph index of storage link.
+     *
+     * @param o Object
+     * @return int
+     * @throws InvalidParameterException if (!(o instanceof CellComposite and o
+     *                                   instanceof CellView))
+     */
+    public final int indexOf(final Object o) throws InvalidParameterException {
+        if (o == null)
+            return -1;
+        if (o instanceof CellComposite)
+            return ((CellComposite) o).getIndex();
+        if (o instanceof CellView)
+            return ((CellView) o).getIndex();
+        throw new InvalidParameterException("Invalid Object...");
+    }
+
+    /**
+     * Return <code>app.maze.components.cell.composite.CellComposite</code> reference
+     * at grid graph index.
+     *
+     * @param i int
+     * @return CellComposite
+     */
+    public final CellComposite getReference(final int i) {
+        return reference.get(i);
     }
 
     /**
@@ -257,7 +260,7 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @return int
      */
     public final int getRows() {
-        return ((GridLayout) getLayout()).getRows();
+        return graph.getRows();
     }
 
     /**
@@ -266,7 +269,7 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @return int
      */
     public final int getColumns() {
-        return ((GridLayout) getLayout()).getColumns();
+        return graph.getColumns();
     }
 
     /**
@@ -275,7 +278,7 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @return boolean
      */
     public final boolean isPeriodic() {
-        return periodic;
+        return graph.isPeriodic();
     }
 
     /**
@@ -284,7 +287,7 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @param periodic boolean
      */
     public final void setPeriodic(final boolean periodic) {
-        this.periodic = periodic;
+        graph.setPeriodic(periodic);
         mzController.reset();
     }
 
@@ -294,7 +297,7 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @return boolean
      */
     public final boolean isEdged() {
-        return edged;
+        return graph.isEdged();
     }
 
     /**
@@ -303,10 +306,39 @@ public final class PanelFlyweight extends JPanel implements Transformable {
      * @param edged boolean
      */
     public final void setEdged(final boolean edged) {
-        this.edged = edged;
+        graph.setEdged(edged);
         mzController.reset();
     }
 
+    /**
+     * Return primitive grid graph core.
+     *
+     * @return GridGraph
+     */
+    public final GridGraph getGraph() {
+        return graph;
+    }
+
+    @SuppressWarnings("unchecked")
+    private final void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        final ObjectInputStream.GetField fields = in.readFields();
+        reference = (List<CellComposite>) fields.get("reference", null);
+        graph = (GridGraph) fields.get("graph", null);
+        if (reference == null)
+            throw new InvalidObjectException("Missing cell storage...");
+        if (graph != null)
+            return;
+        // IMPORTANT: Older mazes hold no grid graph, so rebuild it from layout and cells
+        final GridLayout layout = (GridLayout) getLayout();
+        graph = new GridGraph(layout.getRows(), layout.getColumns());
+        if (graph.size() != reference.size())
+            throw new InvalidObjectException("Cell storage does not match dimension...");
+        graph.setPeriodic(fields.get("periodic", false));
+        graph.setEdged(fields.get("edged", false));
+        for (int i = 0; i < reference.size(); i++)
+            graph.setWalkable(i, reference.get(i).isSaved());
+    }
+
     @Override
     public CellView[] getComponents() {
         final Component[] component = super.getComponents();
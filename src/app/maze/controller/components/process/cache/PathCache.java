@@ -0,0 +1,197 @@
+package app.maze.controller.components.process.cache;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import app.maze.components.grid.GridGraph;
+
+/**
+ * Least recently used path cache, keyed by PathFinder class, endpoints and
+ * topology flags. Entries hold the graph version they were last validated at,
+ * and stay valid through later changes as long as the graph journal shows no
+ * path cell was touched and no cell was opened.
+ *
+ * @see app.maze.components.grid.GridGraph GridGraph
+ */
+public final class PathCache {
+
+    /**
+     * Maximum entry count.
+     */
+    private static final int CAPACITY = 64;
+
+    /**
+     * Access ordered entries.
+     */
+    private final Map<Key, Cached> entries = new LinkedHashMap<Key, Cached>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected final boolean removeEldestEntry(final Map.Entry<Key, Cached> eldest) {
+            return size() > CAPACITY;
+        }
+
+    };
+
+    /**
+     * Return cached path between endpoints, excluding them, or null if absent or
+     * invalidated.
+     *
+     * @param graph  GridGraph
+     * @param clazz  Class<?>
+     * @param root   int
+     * @param target int
+     * @return int[]
+     */
+    public final synchronized int[] get(final GridGraph graph, final Class<?> clazz, final int root, final int target) {
+        final Key key = new Key(clazz, root, target, graph.isPeriodic(), graph.isEdged());
+        final Cached entry = entries.get(key);
+        if (entry == null)
+            return null;
+        // Revalidate against changes since last validation
+        if (entry.graph != graph || !entry.validate()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.path;
+    }
+
+    /**
+     * Store path between endpoints, excluding them, at current graph version.
+     *
+     * @param graph  GridGraph
+     * @param clazz  Class<?>
+     * @param root   int
+     * @param target int
+     * @param path   int[]
+     */
+    public final synchronized void put(final GridGraph graph, final Class<?> clazz, final int root, final int target,
+            final int[] path) {
+        entries.put(new Key(clazz, root, target, graph.isPeriodic(), graph.isEdged()),
+                new Cached(graph, root, target, path));
+    }
+
+    /**
+     * Remove every entry.
+     */
+    public final synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Immutable cache key.
+     */
+    private static final class Key {
+
+        private final Class<?> clazz;
+
+        private final int root;
+
+        private final int target;
+
+        private final boolean periodic;
+
+        private final boolean edged;
+
+        private Key(final Class<?> clazz, final int root, final int target, final boolean periodic,
+                final boolean edged) {
+            this.clazz = clazz;
+            this.root = root;
+            this.target = target;
+            this.periodic = periodic;
+            this.edged = edged;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + clazz.hashCode();
+            result = prime * result + root;
+            result = prime * result + target;
+            result = prime * result + (periodic ? 1231 : 1237);
+            result = prime * result + (edged ? 1231 : 1237);
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            final Key other = (Key) obj;
+            return clazz == other.clazz && root == other.root && target == other.target
+                    && periodic == other.periodic && edged == other.edged;
+        }
+
+    }
+
+    /**
+     * Cached path with its cell membership.
+     */
+    private static final class Cached {
+
+        /**
+         * Graph path was found on.
+         */
+        private final GridGraph graph;
+
+        /**
+         * Path cells, excluding endpoints.
+         */
+        private final int[] path;
+
+        /**
+         * Path cells, including endpoints.
+         */
+        private final BitSet cells = new BitSet();
+
+        /**
+         * Graph version of last validation.
+         */
+        private int version;
+
+        /**
+         * Whether a replayed change invalidated path.
+         */
+        private boolean stale = false;
+
+        private Cached(final GridGraph graph, final int root, final int target, final int[] path) {
+            this.graph = graph;
+            this.path = path;
+            version = graph.getVersion();
+            cells.set(root);
+            cells.set(target);
+            for (final int i : path)
+                cells.set(i);
+        }
+
+        /**
+         * Mark path stale if changed cell lies on it or may shorten it.
+         *
+         * @param i int
+         */
+        private final void touch(final int i) {
+            // IMPORTANT: Opened cells may open shortcuts, while closed ones never do
+            stale |= cells.get(i) || graph.isWalkable(i);
+        }
+
+        /**
+         * Replay changes since last validation and return whether path is still
+         * valid.
+         *
+         * @return boolean
+         */
+        private final boolean validate() {
+            if (!graph.replay(version, this::touch) || stale)
+                return false;
+            version = graph.getVersion();
+            return true;
+        }
+
+    }
+
+}
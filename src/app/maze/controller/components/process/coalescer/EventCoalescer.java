@@ -0,0 +1,268 @@
+package app.maze.controller.components.process.coalescer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import javax.swing.Timer;
+
+import app.maze.components.algorithm.TraverserListener;
+import app.maze.components.cell.State;
+
+/**
+ * Frame coalescing traverser listener, implementing
+ * <code>app.maze.components.algorithm.TraverserListener</code>. Worker threads
+ * only record the latest state of each dirty cell into a back buffer, and the
+ * event dispatch thread swaps it out once per display frame, replaying every
+ * dirty cell onto the delegate listener once. Visualization cost is then bound
+ * by frame rate instead of event count, and workers never wait on Swing, only
+ * on a buffer swap.
+ *
+ * @see app.maze.components.algorithm.TraverserListener TraverserListener
+ */
+public final class EventCoalescer implements TraverserListener {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Display frame period in milliseconds.
+     */
+    public static final int FRAME = 1000 / 60;
+
+    private static final State[] STATES = State.values();
+
+    /**
+     * Listener replayed on the event dispatch thread.
+     */
+    private final TraverserListener delegate;
+
+    /**
+     * Buffer recorded by workers, guarded by this.
+     */
+    private transient Buffer back = null;
+
+    /**
+     * Buffer replayed on the event dispatch thread.
+     */
+    private transient Buffer front = null;
+
+    /**
+     * Frame timer, running while frames are pending, guarded by this.
+     */
+    private transient Timer timer = null;
+
+    /**
+     * Whether a flush is pending, guarded by this.
+     */
+    private transient boolean scheduled = false;
+
+    /**
+     * Create new coalescer replaying onto given listener.
+     *
+     * @param delegate TraverserListener
+     */
+    public EventCoalescer(final TraverserListener delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "TraverserListener must not be null...");
+    }
+
+    @Override
+    public final void nodeGerminated(final TraverserEvent e) {
+        record(e, State.GERMINATED);
+    }
+
+    @Override
+    public final void nodeVisited(final TraverserEvent e) {
+        record(e, State.VISITED);
+    }
+
+    @Override
+    public final void nodeReached(final TraverserEvent e) {
+        if (e.getGeneration() == null && e.getNode() == -1)
+            reset(e);
+        else
+            record(e, State.VISITED);
+    }
+
+    @Override
+    public final void nodeTraversed(final TraverserEvent e) {
+        if (e.getGeneration() == null) {
+            record(e, State.PATH);
+            return;
+        }
+        // Keep whole generations, since the delegate expands them
+        synchronized (this) {
+            buffer(e).events.add(e);
+            schedule();
+        }
+    }
+
+    /**
+     * Drop everything recorded since last flush, so stale frames never land on a
+     * reset grid.
+     */
+    public synchronized final void discard() {
+        if (back != null)
+            back.clear();
+    }
+
+    /**
+     * Record latest state of event cells.
+     *
+     * @param e     TraverserEvent
+     * @param state State
+     */
+    private synchronized final void record(final TraverserEvent e, final State state) {
+        final Buffer buffer = buffer(e);
+        final int[] gen = e.getGeneration();
+        if (gen == null)
+            buffer.mark(e.getNode(), state);
+        else
+            for (final int node : gen)
+                buffer.mark(node, state);
+        schedule();
+    }
+
+    /**
+     * Record reset of every cell, superseding anything recorded before.
+     *
+     * @param e TraverserEvent
+     */
+    private synchronized final void reset(final TraverserEvent e) {
+        final Buffer buffer = buffer(e);
+        buffer.clear();
+        buffer.reset = true;
+        schedule();
+    }
+
+    /**
+     * Return back buffer, tagged with event source.
+     *
+     * @param e TraverserEvent
+     * @return Buffer
+     */
+    private final Buffer buffer(final TraverserEvent e) {
+        if (back == null) {
+            back = new Buffer();
+            front = new Buffer();
+        }
+        back.source = e.getSource();
+        return back;
+    }
+
+    /**
+     * Schedule flush on next frame unless pending, starting frame timer if
+     * stopped.
+     */
+    private final void schedule() {
+        if (scheduled)
+            return;
+        scheduled = true;
+        if (timer == null)
+            timer = new Timer(FRAME, e -> flush());
+        // IMPORTANT: Timer only stops on an idle frame, under the same lock, so no frame is lost
+        if (!timer.isRunning())
+            timer.start();
+    }
+
+    /**
+     * Swap buffers and replay dirty cells onto delegate, on the event dispatch
+     * thread.
+     */
+    private final void flush() {
+        final Buffer buffer;
+        synchronized (this) {
+            // Stop ticking once idle
+            if (!scheduled) {
+                timer.stop();
+                return;
+            }
+            buffer = back;
+            back = front;
+            front = buffer;
+            scheduled = false;
+        }
+        final Object source = buffer.source;
+        if (buffer.reset)
+            delegate.nodeReached(new TraverserEvent(source, -1));
+        for (int k = 0; k < buffer.count; k++) {
+            final int node = buffer.cells[k];
+            final TraverserEvent e = new TraverserEvent(source, node);
+            switch (STATES[buffer.states[node] - 1]) {
+                case GERMINATED:
+                    delegate.nodeGerminated(e);
+                    break;
+                case VISITED:
+                    delegate.nodeVisited(e);
+                    break;
+                default:
+                    delegate.nodeTraversed(e);
+                    break;
+            }
+        }
+        // IMPORTANT: Whole generations land after single cells of the same frame
+        for (final TraverserEvent e : buffer.events)
+            delegate.nodeTraversed(e);
+        buffer.clear();
+    }
+
+    /**
+     * Dirty cell buffer.
+     */
+    private static final class Buffer {
+
+        /**
+         * Latest state ordinal plus one of each cell, 0 if clean.
+         */
+        private byte[] states = new byte[0];
+
+        /**
+         * Dirty cells, in first recorded order.
+         */
+        private int[] cells = new int[16];
+
+        private int count = 0;
+
+        /**
+         * Whether every cell was reset first.
+         */
+        private boolean reset = false;
+
+        /**
+         * Whole generation events, in recorded order.
+         */
+        private final List<TraverserEvent> events = new ArrayList<TraverserEvent>();
+
+        private Object source = null;
+
+        /**
+         * Record latest cell state, growing if needed.
+         *
+         * @param node  int
+         * @param state State
+         */
+        private final void mark(final int node, final State state) {
+            if (node >= states.length)
+                states = Arrays.copyOf(states, Math.max(node + 1, states.length * 2));
+            if (states[node] == 0) {
+                if (count == cells.length)
+                    cells = Arrays.copyOf(cells, count * 2);
+                cells[count++] = node;
+            }
+            states[node] = (byte) (state.ordinal() + 1);
+        }
+
+        /**
+         * Clean every dirty cell and drop events.
+         */
+        private final void clear() {
+            for (int k = 0; k < count; k++)
+                states[cells[k]] = 0;
+            count = 0;
+            reset = false;
+            events.clear();
+        }
+
+    }
+
+}
@@ -1,26 +1,38 @@
 package app.maze.controller.components.process.manager;
 
 import java.io.Serializable;
+import java.lang.reflect.InvocationTargetException;
 import java.security.InvalidAlgorithmParameterException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SplittableRandom;
 
-import javax.swing.tree.MutableTreeNode;
-import javax.swing.tree.TreeNode;
+import javax.swing.SwingUtilities;
 
 import app.maze.components.algorithm.AlgorithmManager;
 import app.maze.components.algorithm.Listenable;
 import app.maze.components.algorithm.TraverserListener;
+import app.maze.components.algorithm.TraverserListener.TraverserEvent;
 import app.maze.components.algorithm.generator.Generator;
 import app.maze.components.algorithm.generator.traversers.Randomizer;
+import app.maze.components.algorithm.pathfinder.Incremental;
 import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.algorithm.pathfinder.frontiers.Frontier;
 import app.maze.components.algorithm.pathfinder.traversers.Dijkstra;
+import app.maze.components.algorithm.pathfinder.traversers.Swarm;
 import app.maze.components.cell.State;
 import app.maze.components.cell.composite.CellComposite;
 import app.maze.components.cell.view.CellView;
+import app.maze.components.grid.GridGraph;
 import app.maze.controller.MazeController;
 import app.maze.controller.components.panel.flyweight.PanelFlyweight;
+import app.maze.controller.components.process.cache.PathCache;
+import app.maze.controller.components.process.coalescer.EventCoalescer;
 import app.maze.model.MazeModel;
 import utils.JWrapper;
 
@@ -38,6 +50,55 @@ public final class ProcessManager implements Serializable {
      */
     private final Set<AlgorithmManager> algorithms = new HashSet<AlgorithmManager>(0);
 
+    /**
+     * <code>app.maze.components.algorithm.pathfinder.PathFinder</code> bidirectional flag.
+     */
+    private boolean bidirectional = false;
+
+    /**
+     * <code>app.maze.components.algorithm.pathfinder.PathFinder</code> frontier kind, null to fit graph cost range.
+     */
+    private Frontier.Kind frontier = null;
+
+    /**
+     * <code>app.maze.components.algorithm.generator.Generator</code> highest traversal cost.
+     */
+    private int terrain = 1;
+
+    /**
+     * <code>app.maze.components.algorithm.generator.Generator</code> and
+     * <code>app.maze.components.algorithm.pathfinder.traversers.Swarm</code> fixed
+     * seed, fresh on every run if null.
+     */
+    private Long seed = null;
+
+    /**
+     * <code>app.maze.components.algorithm.pathfinder.PathFinder</code> path cache.
+     */
+    private final transient PathCache cache = new PathCache();
+
+    /**
+     * Event coalescer of each process class.
+     */
+    private final transient Map<Class<? extends AlgorithmManager>, EventCoalescer> coalescers
+            = new HashMap<Class<? extends AlgorithmManager>, EventCoalescer>(2);
+
+    /**
+     * Cells restated by <code>app.maze.components.algorithm.pathfinder.PathFinder</code>
+     * events since last clear, touched on the event thread only.
+     */
+    private final transient BitSet painted = new BitSet();
+
+    /**
+     * Incremental repair thread, null if idle.
+     */
+    private transient Thread repairer = null;
+
+    /**
+     * Cells changed since running repair started.
+     */
+    private transient boolean stale = false;
+
     {
         setAlgorithm(new Dijkstra(), PathFinder.class);
         setAlgorithm(new Randomizer(), Generator.class);
@@ -65,6 +126,9 @@ public final class ProcessManager implements Serializable {
     public final void interrupt() {
         for (final AlgorithmManager a : algorithms)
             a.setRunning(false);
+        // Drop pending frames of interrupted processes
+        for (final EventCoalescer coalescer : coalescers.values())
+            coalescer.discard();
     }
 
     /**
@@ -89,19 +153,32 @@ public final class ProcessManager implements Serializable {
             Objects.requireNonNull(clazz, "AlgorithmManager must not be null...");
             assertRunning();
             final MazeModel mzModel = mzController.getModel();
+            final PanelFlyweight flyweight = mzController.getFlyweight();
+            final GridGraph graph = flyweight.getGraph();
             for (final AlgorithmManager a : algorithms) {
                 if (!clazz.isAssignableFrom(a.getClass()))
                     continue;
                 if (clazz.equals(PathFinder.class)) {
+                    final int root = flyweight.indexOf(mzModel.getRoot());
+                    final int[] targets = targets();
+                    final int target = targets.length == 0 ? -1 : targets[0];
                     mzController.clear();
-                    ((PathFinder) a).find((MutableTreeNode) mzModel.getRoot(), (MutableTreeNode) mzModel.getTarget());
+                    painted.clear();
+                    if (a instanceof Swarm)
+                        ((Swarm) a).setSeed(this.seed != null ? this.seed : new SplittableRandom().nextLong());
+                    // Replay cached path if still valid, unless searching many targets
+                    final int[] path = root == -1 || target == -1 || targets.length > 1 ? null
+                            : cache.get(graph, a.getClass(), root, target);
+                    if (path != null)
+                        new ManagerListener().nodeTraversed(new TraverserEvent(a, path));
+                    else
+                        ((PathFinder) a).find(graph, root, targets);
                 } else if (clazz.equals(Generator.class)) {
-                    final PanelFlyweight flyweight = mzController.getFlyweight();
                     mzController.reset();
-                    final CellComposite[] reference = flyweight.getReferences();
-                    final CellComposite root = reference[(int) (Math.random() * reference.length)];
-                    mzModel.initNeighbors(root);
-                    ((Generator) a).generate(root);
+                    // Derive start from seed too, so fixed seeds regenerate exact mazes
+                    final long seed = this.seed != null ? this.seed : new SplittableRandom().nextLong();
+                    ((Generator) a).setSeed(seed);
+                    ((Generator) a).generate(graph, new SplittableRandom(seed).nextInt(graph.size()));
                     mzModel.reset();
                 }
             }
@@ -110,6 +187,104 @@ public final class ProcessManager implements Serializable {
         }
     }
 
+    /**
+     * Return target and extra target indices, target first.
+     *
+     * @return int[]
+     */
+    private final int[] targets() {
+        final MazeModel mzModel = mzController.getModel();
+        final PanelFlyweight flyweight = mzController.getFlyweight();
+        final int[] targets = new int[mzModel.getTargets().size() + 1];
+        int count = 0;
+        if (mzModel.getTarget() != null)
+            targets[count++] = flyweight.indexOf(mzModel.getTarget());
+        for (final Object target : mzModel.getTargets())
+            targets[count++] = flyweight.indexOf(target);
+        return Arrays.copyOf(targets, count);
+    }
+
+    /**
+     * Repair last path of incremental
+     * <code>app.maze.components.algorithm.pathfinder.PathFinder</code> process to
+     * current graph off the event thread, if any. Changes arriving during a
+     * running repair are picked up by the same thread once it finishes.
+     */
+    public final void replan() {
+        final MazeModel mzModel = mzController.getModel();
+        // Incremental search state holds a single target
+        if (!mzModel.getTargets().isEmpty())
+            return;
+        for (final AlgorithmManager a : algorithms) {
+            if (!(a instanceof Incremental) || !((Incremental) a).isPlanned())
+                continue;
+            synchronized (this) {
+                stale = true;
+                // Running repair picks changes up, other running searches ignore them
+                if (repairer != null || a.isRunning())
+                    continue;
+                repairer = new Thread(() -> repair(a));
+                repairer.start();
+            }
+        }
+    }
+
+    /**
+     * Repair incremental process until no cell changes during its last run.
+     *
+     * @param a AlgorithmManager
+     */
+    private final void repair(final AlgorithmManager a) {
+        final MazeModel mzModel = mzController.getModel();
+        final PanelFlyweight flyweight = mzController.getFlyweight();
+        try {
+            for (;;) {
+                synchronized (this) {
+                    if (!stale || a.isRunning()) {
+                        repairer = null;
+                        return;
+                    }
+                    stale = false;
+                }
+                // Erase and read endpoints on the event thread, repair off it
+                final int[] endpoints = new int[2];
+                SwingUtilities.invokeAndWait(() -> {
+                    erase();
+                    endpoints[0] = flyweight.indexOf(mzModel.getRoot());
+                    endpoints[1] = flyweight.indexOf(mzModel.getTarget());
+                });
+                ((Incremental) a).replan(flyweight.getGraph(), endpoints[0], endpoints[1]);
+            }
+        } catch (final InterruptedException | InvocationTargetException e) {
+            synchronized (this) {
+                repairer = null;
+            }
+            JWrapper.dispatchException(e);
+        }
+    }
+
+    /**
+     * Restate cells painted by
+     * <code>app.maze.components.algorithm.pathfinder.PathFinder</code> events
+     * since last clear as walkable, instead of every cell.
+     */
+    private final void erase() {
+        final MazeModel mzModel = mzController.getModel();
+        final PanelFlyweight flyweight = mzController.getFlyweight();
+        final GridGraph graph = flyweight.getGraph();
+        // Drop pending frames of the previous repair
+        coalescers.get(PathFinder.class).discard();
+        for (int i = painted.nextSetBit(0); i >= 0 && i < graph.size(); i = painted.nextSetBit(i + 1)) {
+            final CellComposite node = flyweight.getReference(i);
+            if (!graph.isWalkable(i) || node.equals(mzModel.getRoot()) || mzModel.isTarget(node))
+                continue;
+            node.getView().setState(State.WALKABLE);
+        }
+        painted.clear();
+        CellView.select(null);
+        mzController.collapse();
+    }
+
     /**
      * Assert if process is currently running.
      *
@@ -134,8 +309,18 @@ public final class ProcessManager implements Serializable {
                 throw new InvalidAlgorithmParameterException("Class must be PathFinder or Generator...");
             if (!clazz.isAssignableFrom(algorithm.getClass()))
                 throw new InvalidAlgorithmParameterException("AlgorithmManager must extend Class...");
-            if (algorithm instanceof Listenable)
-                ((Listenable) algorithm).addListener(new ManagerListener());
+            if (algorithm instanceof Listenable) {
+                // Coalesce events into one update per frame on the EDT
+                final EventCoalescer coalescer = new EventCoalescer(new ManagerListener());
+                ((Listenable) algorithm).addListener(coalescer);
+                coalescers.put(clazz, coalescer);
+            }
+            if (algorithm instanceof PathFinder) {
+                ((PathFinder) algorithm).setBidirectional(bidirectional);
+                ((PathFinder) algorithm).setFrontier(frontier);
+            }
+            if (algorithm instanceof Generator)
+                ((Generator) algorithm).setTerrain(terrain);
             algorithms.removeIf(a -> clazz.isAssignableFrom(a.getClass()));
             algorithms.add(algorithm);
         } catch (final NullPointerException | InvalidAlgorithmParameterException e) {
@@ -166,6 +351,73 @@ public final class ProcessManager implements Serializable {
         }
     }
 
+    /**
+     * Set <code>app.maze.components.algorithm.generator.Generator</code> process
+     * highest traversal cost.
+     *
+     * @param terrain int
+     */
+    public final void setTerrain(final int terrain) {
+        this.terrain = terrain;
+        for (final AlgorithmManager a : algorithms) {
+            if (!Generator.class.isAssignableFrom(a.getClass()))
+                continue;
+            ((Generator) a).setTerrain(terrain);
+        }
+    }
+
+    /**
+     * Return <code>app.maze.components.algorithm.generator.Generator</code> and
+     * <code>app.maze.components.algorithm.pathfinder.traversers.Swarm</code> fixed
+     * seed, null if fresh on every run.
+     *
+     * @return Long
+     */
+    public final Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Set <code>app.maze.components.algorithm.generator.Generator</code> and
+     * <code>app.maze.components.algorithm.pathfinder.traversers.Swarm</code> fixed
+     * seed, null for a fresh one on every run.
+     *
+     * @param seed Long
+     */
+    public final void setSeed(final Long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Set <code>app.maze.components.algorithm.pathfinder.PathFinder</code> process
+     * bidirectional search.
+     *
+     * @param bidirectional boolean
+     */
+    public final void setBidirectional(final boolean bidirectional) {
+        this.bidirectional = bidirectional;
+        for (final AlgorithmManager a : algorithms) {
+            if (!PathFinder.class.isAssignableFrom(a.getClass()))
+                continue;
+            ((PathFinder) a).setBidirectional(bidirectional);
+        }
+    }
+
+    /**
+     * Set <code>app.maze.components.algorithm.pathfinder.PathFinder</code> process
+     * frontier kind, null to fit graph cost range.
+     *
+     * @param frontier Frontier.Kind
+     */
+    public final void setFrontier(final Frontier.Kind frontier) {
+        this.frontier = frontier;
+        for (final AlgorithmManager a : algorithms) {
+            if (!PathFinder.class.isAssignableFrom(a.getClass()))
+                continue;
+            ((PathFinder) a).setFrontier(frontier);
+        }
+    }
+
     /**
      * <code>app.maze.controller.MazeController</code> relationship.
      */
@@ -199,15 +451,18 @@ public final class ProcessManager implements Serializable {
          * Update <code>app.maze.components.cell.view.CellView</code> state depending on
          * its <code>app.maze.components.cell.composite.CellComposite</code>.
          *
-         * @param node  CellComposite
+         * @param i     int
          * @param state State
          */
-        private final void restate(final CellComposite node, final State state) {
+        private final void restate(final int i, final State state) {
             final MazeModel mzModel = mzController.getModel();
-            if (node.equals(mzModel.getRoot()))
+            final PanelFlyweight flyweight = mzController.getFlyweight();
+            final CellComposite node = flyweight.getReference(i);
+            if (node.equals(mzModel.getRoot()) || mzModel.isTarget(node))
                 return;
             final CellView cell = node.getView();
-            cell.setState(state);
+            // Unwalkable cells always keep their State
+            cell.setState(flyweight.getGraph().isWalkable(i) ? state : State.UNWALKABLE);
             if (CellView.getFocused() == null || !CellView.getFocused().equals(cell))
                 return;
             cell.recolor.accept(state);
@@ -222,12 +477,19 @@ public final class ProcessManager implements Serializable {
          * @param state State
          */
         private final void dispatchTraverser(final TraverserEvent e, final State state) {
-            final TreeNode[] gen = e.getGeneration();
-            if (gen == null)
-                restate((CellComposite) e.getNode(), state);
-            else
-                for (final TreeNode node : gen)
-                    restate((CellComposite) node, state);
+            final int[] gen = e.getGeneration();
+            // Track PathFinder cells, so repairs only erase those
+            final boolean track = e.getSource() instanceof PathFinder;
+            if (gen == null) {
+                restate(e.getNode(), state);
+                if (track)
+                    painted.set(e.getNode());
+            } else
+                for (final int node : gen) {
+                    restate(node, state);
+                    if (track)
+                        painted.set(node);
+                }
         }
 
         @Override
@@ -242,11 +504,9 @@ public final class ProcessManager implements Serializable {
 
         @Override
         public final void nodeReached(final TraverserEvent e) {
-            if (e.getGeneration() == null && e.getNode() == null) {
-                final PanelFlyweight flyweight = mzController.getFlyweight();
-                for (final CellView clView : flyweight.getComponents())
-                    clView.setState(clView.getComposite().isWalkable() ? State.WALKABLE : State.UNWALKABLE);
-            } else
+            if (e.getGeneration() == null && e.getNode() == -1)
+                mzController.getFlyweight().restate();
+            else
                 dispatchTraverser(e, State.VISITED);
         }
 
@@ -255,7 +515,14 @@ public final class ProcessManager implements Serializable {
             dispatchTraverser(e, State.PATH);
             if (e.getGeneration() == null)
                 return;
-            mzController.expand();
+            mzController.expand(e.getGeneration());
+            // Store PathFinder path, unless searching many targets
+            if (!(e.getSource() instanceof PathFinder))
+                return;
+            final PathFinder pathFinder = (PathFinder) e.getSource();
+            if (pathFinder.getGoals().length != 0)
+                return;
+            cache.put(pathFinder.getGraph(), pathFinder.getClass(), pathFinder.getRoot(), pathFinder.getTarget(), e.getGeneration());
         }
 
     }
@@ -0,0 +1,505 @@
+package app.maze.controller.components.process.pipeline;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import app.maze.components.algorithm.AlgorithmManager;
+import app.maze.components.algorithm.TraverserListener;
+import app.maze.components.algorithm.generator.Generator;
+import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.grid.GridGraph;
+import app.maze.components.grid.UnionFind;
+
+/**
+ * Headless maze dataset pipeline. Mazes flow through generate, verify, solve
+ * and write stages, each one on its own worker pool, with every worker running
+ * its own <code>app.maze.components.algorithm.generator.Generator</code> or
+ * <code>app.maze.components.algorithm.pathfinder.PathFinder</code> instance.
+ * Bounded queues between stages block faster stages until slower ones catch
+ * up, so memory stays flat while every stage keeps busy. Exceptions caught by
+ * algorithms abort the run like any other worker failure, except path finders
+ * finding no solution, which count as unsolved. Sample seeds derive
+ * from a single seed, so equal seeds write equal datasets. Run with generator,
+ * path finder, rows, columns, count, directory and optional seed arguments.
+ *
+ * @see app.maze.components.algorithm.generator.Generator Generator
+ * @see app.maze.components.algorithm.pathfinder.PathFinder PathFinder
+ */
+public final class DatasetPipeline {
+
+    /**
+     * End of stream marker.
+     */
+    private static final Sample END = new Sample(-1, 0, null);
+
+    /**
+     * Queue poll timeout in milliseconds, bounding how long a blocked worker
+     * takes to notice an aborted run.
+     */
+    private static final long POLL = 50;
+
+    /**
+     * Pipeline stages, in flow order.
+     */
+    public static enum Stage {
+        GENERATE, VERIFY, SOLVE, WRITE
+    }
+
+    private final Supplier<? extends Generator> generator;
+
+    private final Supplier<? extends PathFinder> pathFinder;
+
+    private final int rows;
+
+    private final int columns;
+
+    private final File directory;
+
+    /**
+     * Worker count of each stage.
+     */
+    private final int[] workers = new int[Stage.values().length];
+
+    /**
+     * Queue capacity between stages.
+     */
+    private int capacity;
+
+    /**
+     * Create new pipeline of given algorithm factories, maze dimensions and
+     * output directory, running every stage on as many workers as cores.
+     *
+     * @param generator  Supplier<? extends Generator>
+     * @param pathFinder Supplier<? extends PathFinder>
+     * @param rows       int
+     * @param columns    int
+     * @param directory  File
+     */
+    public DatasetPipeline(final Supplier<? extends Generator> generator,
+            final Supplier<? extends PathFinder> pathFinder, final int rows, final int columns,
+            final File directory) {
+        this.generator = Objects.requireNonNull(generator, "Generator must not be null...");
+        this.pathFinder = Objects.requireNonNull(pathFinder, "PathFinder must not be null...");
+        this.directory = Objects.requireNonNull(directory, "Directory must not be null...");
+        this.rows = rows;
+        this.columns = columns;
+        final int cores = Runtime.getRuntime().availableProcessors();
+        for (final Stage stage : Stage.values())
+            workers[stage.ordinal()] = cores;
+        capacity = 2 * cores;
+    }
+
+    /**
+     * Run pipeline over given sample count and return its report, failing as
+     * soon as any worker or algorithm does.
+     *
+     * @param seed  long
+     * @param count int
+     * @return Report
+     * @throws InterruptedException if interrupted
+     * @throws ExecutionException   if any worker or algorithm failed
+     */
+    public final Report run(final long seed, final int count) throws InterruptedException, ExecutionException {
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new ExecutionException(new IOException("Directory could not be created..."));
+        final long start = System.nanoTime();
+        final long[] seeds = new long[count];
+        final SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < count; i++)
+            seeds[i] = random.nextLong();
+        final Stage[] stages = Stage.values();
+        // Queue feeding each stage past generation
+        final List<BlockingQueue<Sample>> queues = new ArrayList<BlockingQueue<Sample>>(stages.length);
+        queues.add(null);
+        for (int s = 1; s < stages.length; s++)
+            queues.add(new ArrayBlockingQueue<Sample>(capacity));
+        final ExecutorService[] pools = new ExecutorService[stages.length];
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger unsolvable = new AtomicInteger();
+        final AtomicInteger unsolved = new AtomicInteger();
+        final AtomicInteger written = new AtomicInteger();
+        for (final Stage stage : stages) {
+            final int s = stage.ordinal();
+            final AtomicInteger live = new AtomicInteger(workers[s]);
+            pools[s] = Executors.newFixedThreadPool(workers[s], r -> new Thread(r, stage.name().toLowerCase()));
+            for (int w = 0; w < workers[s]; w++)
+                pools[s].execute(() -> {
+                    try {
+                        switch (stage) {
+                            case GENERATE:
+                                for (int i; (i = next.getAndIncrement()) < count;)
+                                    put(queues.get(s + 1), generate(i, seeds[i]), failure);
+                                break;
+                            case VERIFY:
+                                for (Sample sample; (sample = take(queues.get(s), failure)) != END;)
+                                    if (verify(sample))
+                                        put(queues.get(s + 1), sample, failure);
+                                    else
+                                        unsolvable.incrementAndGet();
+                                break;
+                            case SOLVE:
+                                for (Sample sample; (sample = take(queues.get(s), failure)) != END;)
+                                    if (solve(sample))
+                                        put(queues.get(s + 1), sample, failure);
+                                    else
+                                        unsolved.incrementAndGet();
+                                break;
+                            case WRITE:
+                                for (Sample sample; (sample = take(queues.get(s), failure)) != END;) {
+                                    write(sample);
+                                    written.incrementAndGet();
+                                }
+                                break;
+                        }
+                        // Last worker out ends next stage
+                        if (live.decrementAndGet() == 0 && s + 1 < stages.length)
+                            for (int k = 0; k < workers[s + 1]; k++)
+                                put(queues.get(s + 1), END, failure);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (final Throwable e) {
+                        // Abort every stage on first failure
+                        if (failure.compareAndSet(null, e))
+                            for (final ExecutorService pool : pools)
+                                if (pool != null)
+                                    pool.shutdownNow();
+                    }
+                });
+            pools[s].shutdown();
+        }
+        try {
+            for (final ExecutorService pool : pools)
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            for (final ExecutorService pool : pools)
+                pool.shutdownNow();
+            throw e;
+        }
+        if (failure.get() != null)
+            throw new ExecutionException(failure.get());
+        return new Report(count, unsolvable.get(), unsolved.get(), written.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Queue sample, blocking while queue is full unless run aborted.
+     *
+     * @param queue   BlockingQueue<Sample>
+     * @param sample  Sample
+     * @param failure AtomicReference<Throwable>
+     * @throws InterruptedException if run aborted
+     */
+    private static final void put(final BlockingQueue<Sample> queue, final Sample sample,
+            final AtomicReference<Throwable> failure) throws InterruptedException {
+        // IMPORTANT: Algorithms swallow interrupts, so aborts are polled for instead
+        while (!queue.offer(sample, POLL, TimeUnit.MILLISECONDS))
+            if (failure.get() != null)
+                throw new InterruptedException("Pipeline aborted...");
+    }
+
+    /**
+     * Dequeue sample, blocking while queue is empty unless run aborted.
+     *
+     * @param queue   BlockingQueue<Sample>
+     * @param failure AtomicReference<Throwable>
+     * @return Sample
+     * @throws InterruptedException if run aborted
+     */
+    private static final Sample take(final BlockingQueue<Sample> queue, final AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        Sample sample;
+        while ((sample = queue.poll(POLL, TimeUnit.MILLISECONDS)) == null)
+            if (failure.get() != null)
+                throw new InterruptedException("Pipeline aborted...");
+        return sample;
+    }
+
+    /**
+     * Generate sample maze and pick its random endpoints.
+     *
+     * @param index int
+     * @param seed  long
+     * @return Sample
+     */
+    private final Sample generate(final int index, final long seed) {
+        final SplittableRandom random = new SplittableRandom(seed);
+        final GridGraph graph = new GridGraph(rows, columns);
+        final Generator generator = this.generator.get();
+        generator.setDelay(0);
+        generator.setSeed(random.nextLong());
+        generator.setGraph(graph);
+        generator.setRoot(random.nextInt(graph.size()));
+        final Exception e = execute(generator);
+        if (e != null)
+            throw new IllegalStateException(generator + " failed...", e);
+        final Sample sample = new Sample(index, seed, graph);
+        sample.root = pick(graph, random, -1);
+        sample.target = pick(graph, random, sample.root);
+        return sample;
+    }
+
+    /**
+     * Return random walkable cell other than excluded one, or -1 if none.
+     *
+     * @param graph   GridGraph
+     * @param random  SplittableRandom
+     * @param exclude int
+     * @return int
+     */
+    private static final int pick(final GridGraph graph, final SplittableRandom random, final int exclude) {
+        final int offset = random.nextInt(graph.size());
+        // Scan from random offset for walkable cell
+        for (int k = 0; k < graph.size(); k++) {
+            final int i = (offset + k) % graph.size();
+            if (i != exclude && graph.isWalkable(i))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Return whether sample endpoints are connected.
+     *
+     * @param sample Sample
+     * @return boolean
+     */
+    private static final boolean verify(final Sample sample) {
+        final GridGraph graph = sample.graph;
+        if (sample.root == -1 || sample.target == -1)
+            return false;
+        final UnionFind sets = new UnionFind(graph.size());
+        final int[] neighbors = new int[GridGraph.DEGREE];
+        // Join every walkable cell to its walkable neighbors
+        for (int i = 0; i < graph.size(); i++) {
+            if (!graph.isWalkable(i))
+                continue;
+            for (int k = 0, n = graph.neighbors(i, neighbors); k < n; k++)
+                if (neighbors[k] > i && graph.isWalkable(neighbors[k]))
+                    sets.union(i, neighbors[k]);
+        }
+        return sets.connected(sample.root, sample.target);
+    }
+
+    /**
+     * Solve sample and return whether a path was found.
+     *
+     * @param sample Sample
+     * @return boolean
+     * @throws InterruptedException if interrupted
+     */
+    private final boolean solve(final Sample sample) throws InterruptedException {
+        final PathFinder pathFinder = this.pathFinder.get();
+        pathFinder.setDelay(0);
+        pathFinder.setGraph(sample.graph);
+        pathFinder.setRoot(sample.root);
+        pathFinder.setTarget(sample.target);
+        pathFinder.addListener(new TraverserListener() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public final void nodeGerminated(final TraverserEvent e) {
+            }
+
+            @Override
+            public final void nodeVisited(final TraverserEvent e) {
+            }
+
+            @Override
+            public final void nodeReached(final TraverserEvent e) {
+            }
+
+            @Override
+            public final void nodeTraversed(final TraverserEvent e) {
+                if (e.getGeneration() != null)
+                    sample.path = e.getGeneration();
+            }
+
+        });
+        final Exception e = execute(pathFinder);
+        if (e != null && !(e instanceof NoSuchElementException))
+            throw new IllegalStateException(pathFinder + " failed...", e);
+        return sample.path != null;
+    }
+
+    /**
+     * Run algorithm synchronously and return first exception it caught, or null
+     * if none.
+     *
+     * @param algorithm AlgorithmManager
+     * @return Exception
+     */
+    private static final Exception execute(final AlgorithmManager algorithm) {
+        final AtomicReference<Exception> exception = new AtomicReference<Exception>();
+        algorithm.setExceptionListener(e -> exception.compareAndSet(null, e));
+        algorithm.run();
+        return exception.get();
+    }
+
+    /**
+     * Serialize sample seed, graph, endpoints and path into its own file.
+     *
+     * @param sample Sample
+     * @throws IOException if write failed
+     */
+    private final void write(final Sample sample) throws IOException {
+        final File file = new File(directory, String.format("maze-%06d.ser", sample.index));
+        try (final ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeLong(sample.seed);
+            out.writeObject(sample.graph);
+            out.writeInt(sample.root);
+            out.writeInt(sample.target);
+            out.writeObject(sample.path);
+        }
+    }
+
+    public final int getWorkers(final Stage stage) {
+        return workers[stage.ordinal()];
+    }
+
+    public final void setWorkers(final Stage stage, final int workers) {
+        if (workers < 1)
+            throw new IllegalArgumentException("Worker count must be positive...");
+        this.workers[stage.ordinal()] = workers;
+    }
+
+    public final int getCapacity() {
+        return capacity;
+    }
+
+    public final void setCapacity(final int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Queue capacity must be positive...");
+        this.capacity = capacity;
+    }
+
+    public static void main(final String[] args) throws ReflectiveOperationException, InterruptedException,
+            ExecutionException {
+        if (args.length < 6)
+            throw new IllegalArgumentException(
+                    "Usage: DatasetPipeline <generator> <pathfinder> <rows> <columns> <count> <directory> [seed]");
+        final Class<? extends Generator> generator = Class
+                .forName("app.maze.components.algorithm.generator.traversers." + args[0]).asSubclass(Generator.class);
+        final Class<? extends PathFinder> pathFinder = Class
+                .forName("app.maze.components.algorithm.pathfinder.traversers." + args[1])
+                .asSubclass(PathFinder.class);
+        final DatasetPipeline pipeline = new DatasetPipeline(() -> instance(generator), () -> instance(pathFinder),
+                Integer.parseInt(args[2]), Integer.parseInt(args[3]), new File(args[5]));
+        final long seed = args.length > 6 ? Long.parseLong(args[6]) : new SplittableRandom().nextLong();
+        System.out.println(pipeline.run(seed, Integer.parseInt(args[4])));
+    }
+
+    /**
+     * Return new instance of algorithm class.
+     *
+     * @param <T>   T
+     * @param clazz Class<T>
+     * @return T
+     */
+    private static final <T> T instance(final Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Maze flowing through the pipeline.
+     */
+    private static final class Sample {
+
+        private final int index;
+
+        private final long seed;
+
+        private final GridGraph graph;
+
+        private int root = -1;
+
+        private int target = -1;
+
+        /**
+         * Path between endpoints, excluding them, null until solved.
+         */
+        private int[] path = null;
+
+        private Sample(final int index, final long seed, final GridGraph graph) {
+            this.index = index;
+            this.seed = seed;
+            this.graph = graph;
+        }
+
+    }
+
+    /**
+     * Immutable pipeline run report.
+     */
+    public static final class Report {
+
+        private final int generated;
+
+        private final int unsolvable;
+
+        private final int unsolved;
+
+        private final int written;
+
+        private final long nanos;
+
+        private Report(final int generated, final int unsolvable, final int unsolved, final int written,
+                final long nanos) {
+            this.generated = generated;
+            this.unsolvable = unsolvable;
+            this.unsolved = unsolved;
+            this.written = written;
+            this.nanos = nanos;
+        }
+
+        public final int getGenerated() {
+            return generated;
+        }
+
+        public final int getUnsolvable() {
+            return unsolvable;
+        }
+
+        public final int getUnsolved() {
+            return unsolved;
+        }
+
+        public final int getWritten() {
+            return written;
+        }
+
+        public final long getNanos() {
+            return nanos;
+        }
+
+        @Override
+        public final String toString() {
+            return String.format("%d generated, %d unsolvable, %d unsolved, %d written in %.1f s", generated,
+                    unsolvable, unsolved, written, nanos / 1e9);
+        }
+
+    }
+
+}
@@ -1,15 +1,18 @@
 package app.maze.model;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import javax.swing.event.TreeModelEvent;
 import javax.swing.event.TreeModelListener;
 import javax.swing.tree.DefaultTreeModel;
-import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 
 import app.maze.components.cell.State;
 import app.maze.components.cell.composite.CellComposite;
+import app.maze.components.grid.GridGraph;
 import app.maze.controller.MazeController;
 import app.maze.controller.components.panel.flyweight.PanelFlyweight;
 
@@ -28,6 +31,11 @@ public final class MazeModel extends DefaultTreeModel {
      */
     private TreeNode target = null;
 
+    /**
+     * Extra target <code>javax.swing.tree.TreeNode</code> selection.
+     */
+    private final Set<TreeNode> targets = new LinkedHashSet<TreeNode>(0);
+
     {
         addTreeModelListener(new ModelListener());
     }
@@ -55,62 +63,75 @@ public final class MazeModel extends DefaultTreeModel {
     public final void reset() {
         root = null;
         target = null;
+        targets.clear();
         mzController.collapse();
     }
 
     /**
-     * Clear <code>app.maze.components.cell.composite.CellComposite</code> node
-     * parent relationships.
-     *
-     * @param node CellComposite
+     * Clear walkable cell states by grid graph index.
      */
-    private final void clear(final CellComposite node) {
-        for (int i = 0; i < node.getChildCount(); i++) {
-            final CellComposite child = (CellComposite) node.getChildAt(i);
-            if (child.isOrphan())
+    public final void clear() {
+        if (root == null)
+            return;
+        final PanelFlyweight flyweight = mzController.getFlyweight();
+        final GridGraph graph = flyweight.getGraph();
+        for (int i = 0; i < graph.size(); i++) {
+            final CellComposite node = flyweight.getReference(i);
+            if (!graph.isWalkable(i) || node.equals(root) || isTarget(node))
                 continue;
-            if (!child.equals(root) && !child.equals(target))
-                child.getView().setState(State.WALKABLE);
-            child.setParent(null);
-            clear(child);
+            node.getView().setState(State.WALKABLE);
         }
+        mzController.collapse();
     }
 
     /**
-     * Clear root level node parent relationships.
+     * Return current target <code>javax.swing.tree.TreeNode</code>.
+     *
+     * @return Object
      */
-    public final void clear() {
-        if (root == null)
-            return;
-        clear((CellComposite) root);
-        mzController.collapse();
+    public final Object getTarget() {
+        return target;
     }
 
     /**
-     * Initialize <code>app.maze.components.cell.composite.CellComposite</code> node
-     * parent relationships.
+     * Return extra target <code>javax.swing.tree.TreeNode</code> selection.
      *
-     * @param node CellComposite
+     * @return Set<TreeNode>
      */
-    public final void initNeighbors(final CellComposite node) {
-        if (!node.isWalkable() || !node.isLeaf())
-            return;
-        final PanelFlyweight flyweight = mzController.getFlyweight();
-        for (final Object neighbor : flyweight.getNeighbors(node)) {
-            if (!((CellComposite) neighbor).isWalkable())
-                continue;
-            node.add((MutableTreeNode) neighbor);
-            initNeighbors((CellComposite) neighbor);
-        }
+    public final Set<TreeNode> getTargets() {
+        return Collections.unmodifiableSet(targets);
     }
 
     /**
-     * Return current target <code>javax.swing.tree.TreeNode</code>.
+     * Return whether node is current target or any extra target.
      *
-     * @return Object
+     * @param node Object
+     * @return boolean
      */
-    public final Object getTarget() {
-        return target;
+    public final boolean isTarget(final Object node) {
+        return node != null && (node.equals(target) || targets.contains(node));
+    }
+
+    /**
+     * Toggle extra target <code>javax.swing.tree.TreeNode</code>.
+     *
+     * @param target TreeNode
+     */
+    public final void toggleTarget(final TreeNode target) {
+        if (target == null)
+            return;
+        if (target.equals(this.target))
+            setTarget(target);
+        else if (targets.remove(target)) {
+            ((CellComposite) target).getView().setState(State.WALKABLE);
+            mzController.collapse();
+        } else {
+            if (target.equals(root))
+                root = null;
+            ((CellComposite) target).setWalkable(true);
+            targets.add(target);
+            ((CellComposite) target).getView().setState(State.TARGET);
+        }
     }
 
     /**
@@ -124,8 +145,10 @@ public final class MazeModel extends DefaultTreeModel {
             this.target = null;
             mzController.collapse();
         } else {
-            if (target != null)
+            if (target != null) {
+                targets.remove(target);
                 ((CellComposite) target).setWalkable(true);
+            }
             final CellComposite oldTarget = (CellComposite) this.target;
             this.target = target;
             if (oldTarget != null)
@@ -142,8 +165,10 @@ public final class MazeModel extends DefaultTreeModel {
             this.root = null;
             mzController.collapse();
         } else {
-            if (root != null)
+            if (root != null) {
+                targets.remove(root);
                 ((CellComposite) root).setWalkable(true);
+            }
             final CellComposite oldRoot = (CellComposite) this.root;
             super.setRoot(root);
             if (oldRoot != null)
@@ -191,12 +216,6 @@ public final class MazeModel extends DefaultTreeModel {
 
         @Override
         public final void treeStructureChanged(final TreeModelEvent e) {
-            if (e.getTreePath() == null) {
-                mzController.collapse();
-                return;
-            }
-            ((CellComposite) root).override();
-            initNeighbors((CellComposite) root);
             mzController.collapse();
         }
 
@@ -205,8 +224,6 @@ public final class MazeModel extends DefaultTreeModel {
             mzController.collapse();
             if (!((CellComposite) e.getTreePath().getLastPathComponent()).equals(root))
                 return;
-            for (final Object children : e.getChildren())
-                ((CellComposite) children).override();
             root = null;
             mzController.collapse();
         }
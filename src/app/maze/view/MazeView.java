@@ -50,13 +50,24 @@ import javax.swing.tree.TreePath;
 
 import app.maze.components.algorithm.generator.Generator;
 import app.maze.components.algorithm.generator.traversers.BackTracker;
+import app.maze.components.algorithm.generator.traversers.Cave;
 import app.maze.components.algorithm.generator.traversers.DFS;
+import app.maze.components.algorithm.generator.traversers.Division;
+import app.maze.components.algorithm.generator.traversers.Eller;
+import app.maze.components.algorithm.generator.traversers.Kruskal;
 import app.maze.components.algorithm.generator.traversers.Prim;
 import app.maze.components.algorithm.generator.traversers.Randomizer;
+import app.maze.components.algorithm.generator.traversers.Tiles;
 import app.maze.components.algorithm.pathfinder.PathFinder;
+import app.maze.components.algorithm.pathfinder.frontiers.Frontier;
+import app.maze.components.algorithm.pathfinder.heuristics.Landmarks;
 import app.maze.components.algorithm.pathfinder.traversers.AStar;
 import app.maze.components.algorithm.pathfinder.traversers.BFS;
+import app.maze.components.algorithm.pathfinder.traversers.DStarLite;
 import app.maze.components.algorithm.pathfinder.traversers.Dijkstra;
+import app.maze.components.algorithm.pathfinder.traversers.HPAStar;
+import app.maze.components.algorithm.pathfinder.traversers.JPS;
+import app.maze.components.algorithm.pathfinder.traversers.Swarm;
 import app.maze.components.cell.composite.CellComposite;
 import app.maze.components.cell.view.CellView;
 import app.maze.controller.MazeController;
@@ -183,6 +194,12 @@ public final class MazeView extends JFrame {
                         addActionListener(e -> mzModel.setTarget(clComposite));
                     }
                 });
+                add(new MenuItemDecorator("Extra End", "targetIcon.gif") {
+                    private static final long serialVersionUID = 1L;
+                    {
+                        addActionListener(e -> mzModel.toggleTarget(clComposite));
+                    }
+                });
             }
         };
     }
@@ -303,7 +320,7 @@ public final class MazeView extends JFrame {
                                 add(new JToolBar(SwingConstants.VERTICAL) {
                                     private static final long serialVersionUID = 1L;
                                     {
-                                        add(new JPanel(new GridLayout(3, 1, 0, 0)) {
+                                        add(new JPanel(new GridLayout(6, 1, 0, 0)) {
                                             private static final long serialVersionUID = 1L;
                                             {
                                                 setBorder(new EtchedBorder(EtchedBorder.LOWERED));
@@ -368,6 +385,63 @@ public final class MazeView extends JFrame {
                                                         }.show(this, -100, 2));
                                                     }
                                                 });
+                                                add(new ButtonDecorator("Terrain", "gridIcon.gif") {
+                                                    private static final long serialVersionUID = 1L;
+                                                    {
+                                                        final JSlider slider = new JSlider(1, 255, 1) {
+                                                            private static final long serialVersionUID = 1L;
+                                                            {
+                                                                setPreferredSize(new Dimension(100, getPreferredSize().height));
+                                                                addChangeListener(e -> manager.setTerrain(getValue()));
+                                                            }
+                                                        };
+                                                        addActionListener(e -> new JPopupMenu(null) {
+                                                            private static final long serialVersionUID = 1L;
+                                                            {
+                                                                setFocusable(false);
+                                                                add(slider);
+                                                            }
+                                                        }.show(this, -100, 2));
+                                                    }
+                                                });
+                                                add(new ButtonDecorator("Seed", "generatorIcon.gif") {
+                                                    private static final long serialVersionUID = 1L;
+                                                    {
+                                                        addActionListener(e -> {
+                                                            final Long seed = manager.getSeed();
+                                                            final String input = JOptionPane.showInputDialog(this,
+                                                                    "Generator and swarm seed, blank for a fresh one every run",
+                                                                    seed == null ? "" : seed.toString());
+                                                            // Check for cancelled input
+                                                            if (input == null)
+                                                                return;
+                                                            try {
+                                                                manager.setSeed(input.isBlank() ? null : Long.valueOf(input.strip()));
+                                                            } catch (final NumberFormatException ex) {
+                                                                JWrapper.dispatchException(ex);
+                                                            }
+                                                        });
+                                                    }
+                                                });
+                                                add(new ButtonDecorator("Brush", "walkableIcon.gif") {
+                                                    private static final long serialVersionUID = 1L;
+                                                    {
+                                                        final JSlider slider = new JSlider(1, 255, 5) {
+                                                            private static final long serialVersionUID = 1L;
+                                                            {
+                                                                setPreferredSize(new Dimension(100, getPreferredSize().height));
+                                                                addChangeListener(e -> mzController.setBrush(getValue()));
+                                                            }
+                                                        };
+                                                        addActionListener(e -> new JPopupMenu(null) {
+                                                            private static final long serialVersionUID = 1L;
+                                                            {
+                                                                setFocusable(false);
+                                                                add(slider);
+                                                            }
+                                                        }.show(this, -100, 2));
+                                                    }
+                                                });
                                             }
                                         });
                                     }
@@ -414,6 +488,16 @@ public final class MazeView extends JFrame {
                                                 addItemListener(e -> manager.setAlgorithm(new AStar(), PathFinder.class));
                                             }
                                         });
+                                        add(new JRadioButtonMenuItem("A Star (ALT)", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> {
+                                                    final AStar aStar = new AStar();
+                                                    aStar.setHeuristic(new Landmarks());
+                                                    manager.setAlgorithm(aStar, PathFinder.class);
+                                                });
+                                            }
+                                        });
                                         add(new JRadioButtonMenuItem("BFS", null, false) {
                                             private static final long serialVersionUID = 1L;
                                             {
@@ -426,6 +510,81 @@ public final class MazeView extends JFrame {
                                                 addItemListener(e -> manager.setAlgorithm(new Dijkstra(), PathFinder.class));
                                             }
                                         });
+                                        add(new JRadioButtonMenuItem("D* Lite", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new DStarLite(), PathFinder.class));
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("HPA Star", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new HPAStar(), PathFinder.class));
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("JPS", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new JPS(), PathFinder.class));
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("Swarm", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new Swarm(), PathFinder.class));
+                                            }
+                                        });
+                                    }
+                                }.getElements(); e.hasMoreElements();) {
+                                    add(e.nextElement());
+                                }
+                                add(new JSeparator(SwingConstants.HORIZONTAL));
+                                add(new JCheckBoxMenuItem("Bidirectional", null, false) {
+                                    private static final long serialVersionUID = 1L;
+                                    {
+                                        addItemListener(e -> manager.setBidirectional(isSelected()));
+                                    }
+                                });
+                                add(new JSeparator(SwingConstants.HORIZONTAL));
+                                for (final Enumeration<AbstractButton> e = new ButtonGroup() {
+                                    private static final long serialVersionUID = 1L;
+                                    {
+                                        add(new JRadioButtonMenuItem("Fit costs", null, true) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> {
+                                                    if (isSelected())
+                                                        manager.setFrontier(null);
+                                                });
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("Binary heap", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> {
+                                                    if (isSelected())
+                                                        manager.setFrontier(Frontier.Kind.BINARY_HEAP);
+                                                });
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("Bucket queue", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> {
+                                                    if (isSelected())
+                                                        manager.setFrontier(Frontier.Kind.BUCKET_QUEUE);
+                                                });
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("Radix heap", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> {
+                                                    if (isSelected())
+                                                        manager.setFrontier(Frontier.Kind.RADIX_HEAP);
+                                                });
+                                            }
+                                        });
                                     }
                                 }.getElements(); e.hasMoreElements();) {
                                     add(e.nextElement());
@@ -444,12 +603,36 @@ public final class MazeView extends JFrame {
                                                 addItemListener(e -> manager.setAlgorithm(new BackTracker(), Generator.class));
                                             }
                                         });
+                                        add(new JRadioButtonMenuItem("Cave", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new Cave(), Generator.class));
+                                            }
+                                        });
                                         add(new JRadioButtonMenuItem("DFS", null, false) {
                                             private static final long serialVersionUID = 1L;
                                             {
                                                 addItemListener(e -> manager.setAlgorithm(new DFS(), Generator.class));
                                             }
                                         });
+                                        add(new JRadioButtonMenuItem("Division", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new Division(), Generator.class));
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("Eller", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new Eller(), Generator.class));
+                                            }
+                                        });
+                                        add(new JRadioButtonMenuItem("Kruskal", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new Kruskal(), Generator.class));
+                                            }
+                                        });
                                         add(new JRadioButtonMenuItem("Prim", null, false) {
                                             private static final long serialVersionUID = 1L;
                                             {
@@ -462,6 +645,12 @@ public final class MazeView extends JFrame {
                                                 addItemListener(e -> manager.setAlgorithm(new Randomizer(), Generator.class));
                                             }
                                         });
+                                        add(new JRadioButtonMenuItem("Tiles", null, false) {
+                                            private static final long serialVersionUID = 1L;
+                                            {
+                                                addItemListener(e -> manager.setAlgorithm(new Tiles(), Generator.class));
+                                            }
+                                        });
                                     }
                                 }.getElements(); e.hasMoreElements();) {
                                     add(e.nextElement());